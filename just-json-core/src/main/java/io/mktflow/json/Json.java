@@ -1,16 +1,53 @@
 package io.mktflow.json;
 
+import io.mktflow.json.internal.JsonArrayPublisher;
+import io.mktflow.json.internal.JsonArrayReader;
+import io.mktflow.json.internal.JsonFeeder;
+import io.mktflow.json.internal.JsonLinesReader;
+import io.mktflow.json.internal.JsonOutput;
 import io.mktflow.json.internal.JsonParser;
+import io.mktflow.json.internal.JsonReader;
+import io.mktflow.json.internal.JsonTape;
+import io.mktflow.json.internal.JsonTokenizer;
 import io.mktflow.json.internal.JsonValue;
+import io.mktflow.json.internal.SkipCounter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class Json {
 
     private static final Map<Class<?>, Function<Object, String>> SERIALIZERS = new ConcurrentHashMap<>();
     private static final Map<Class<?>, Function<JsonValue, ?>> DESERIALIZERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Function<JsonReader, ?>> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, BiConsumer<Object, JsonOutput>> WRITERS = new ConcurrentHashMap<>();
+
+    private static final int LINES_BUFFER_SIZE = 256 * 1024;
 
     private Json() {}
 
@@ -23,6 +60,24 @@ public final class Json {
         DESERIALIZERS.put(type, deserializer);
     }
 
+    public static <T> void registerReader(Class<T> type, Function<JsonReader, T> reader) {
+        READERS.put(type, reader);
+    }
+
+    public static <T> void registerWriter(Class<T> type, BiConsumer<T, JsonOutput> writer) {
+        @SuppressWarnings("unchecked")
+        BiConsumer<Object, JsonOutput> rawWriter = (BiConsumer<Object, JsonOutput>) (BiConsumer<?, ?>) writer;
+        WRITERS.put(type, rawWriter);
+    }
+
+    /**
+     * Returns the counter of members that readers of {@code type} skipped because the record
+     * does not declare them.
+     */
+    public static SkipCounter skipped(Class<?> type) {
+        return SkipCounter.of(type);
+    }
+
     public static <T> String toJson(T obj) {
         if (obj == null) {
             return "null";
@@ -35,21 +90,353 @@ public final class Json {
         return serializer.apply(obj);
     }
 
+    /**
+     * Serializes to UTF-8 bytes without going through an intermediate String.
+     */
+    public static <T> byte[] toJsonBytes(T obj) {
+        var out = new JsonOutput();
+        try {
+            write(obj, out);
+            return out.toByteArray();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Streams UTF-8 encoded JSON to the stream in buffer-sized chunks, then flushes it.
+     * The stream is not closed.
+     */
+    public static <T> void toJson(T obj, OutputStream stream) throws IOException {
+        var out = new JsonOutput(stream);
+        try {
+            write(obj, out);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Streams UTF-8 encoded JSON to a blocking channel in buffer-sized chunks.
+     * The channel is not closed.
+     */
+    public static <T> void toJson(T obj, WritableByteChannel channel) throws IOException {
+        var out = new JsonOutput(channel);
+        try {
+            write(obj, out);
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Encodes UTF-8 JSON into {@code target} from its position, for writing from pooled direct
+     * buffers. Output is staged in a pooled heap buffer of 8 KiB and copied into {@code target} in
+     * bulk, one copy per byte. Whenever the buffer fills, it is passed to
+     * {@code onFull}, which returns the next buffer to fill. Returns the buffer holding the end of
+     * the output; every buffer's position is left just after the bytes written into it.
+     */
+    public static <T> ByteBuffer toJson(T obj, ByteBuffer target, UnaryOperator<ByteBuffer> onFull) {
+        var out = new JsonOutput(target, onFull);
+        try {
+            write(obj, out);
+            out.flush();
+            return out.target();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Encodes UTF-8 JSON into {@code target} from offset 0. Whenever the segment fills, it is
+     * passed to {@code onFull}, which returns the next segment to fill. Returns the number of
+     * bytes written into the last segment; every segment before it is filled completely. Segments
+     * may be of any size, including over 2 GiB, and of any kind, native, mapped or heap.
+     */
+    public static <T> long toJson(T obj, MemorySegment target, UnaryOperator<MemorySegment> onFull) {
+        var out = new JsonOutput(target, onFull);
+        try {
+            write(obj, out);
+            out.flush();
+            return out.segmentOffset();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Publishes the values as one JSON array in fixed-size UTF-8 chunks. Values are pulled and
+     * encoded only as the subscriber requests chunks, so the first bytes are available before the
+     * source is exhausted and only about one value is buffered at a time. The stream is closed
+     * when the subscription completes, fails or is cancelled. Only one subscriber is supported.
+     */
+    public static <T> Flow.Publisher<ByteBuffer> publishArray(Stream<T> values, Class<T> type) {
+        requireWriter(type);
+        return new JsonArrayPublisher<T>(values.iterator(), values::close, Json::write);
+    }
+
+    public static <T> Flow.Publisher<ByteBuffer> publishArray(Iterator<T> values, Class<T> type) {
+        requireWriter(type);
+        Objects.requireNonNull(values, "values");
+        return new JsonArrayPublisher<T>(values, () -> {}, Json::write);
+    }
+
+    private static void requireWriter(Class<?> type) {
+        if (!WRITERS.containsKey(type) && !SERIALIZERS.containsKey(type)) {
+            throw new JsonException("No JSON adapter registered for " + type.getName()
+                    + ". Annotate the record with @JsonRecord and ensure the annotation processor ran.");
+        }
+    }
+
+    private static void write(Object obj, JsonOutput out) {
+        if (obj == null) {
+            out.writeAscii("null");
+            return;
+        }
+        BiConsumer<Object, JsonOutput> writer = WRITERS.get(obj.getClass());
+        if (writer != null) {
+            writer.accept(obj, out);
+        } else {
+            // Adapters generated by older processors only serialize to a String
+            out.writeBytes(toJson(obj).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     public static <T> T fromJson(String json, Class<T> type) {
         if (json == null || json.isBlank()) {
             throw new JsonException("Input JSON string is null or empty");
         }
+        return fromJson(new JsonReader(json), type);
+    }
+
+    public static <T> T fromJson(byte[] json, Class<T> type) {
+        if (json == null) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        return fromJson(json, 0, json.length, type);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON from {@code json[offset, offset + length)} without copying it.
+     */
+    public static <T> T fromJson(byte[] json, int offset, int length, Class<T> type) {
+        if (json == null || length == 0) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        Objects.checkFromIndexSize(offset, length, json.length);
+        return fromJson(new JsonReader(json, offset, length), type);
+    }
+
+    /**
+     * Deserializes UTF-8 encoded JSON from the remaining bytes of the buffer.
+     * The buffer's position is left unchanged.
+     */
+    public static <T> T fromJson(ByteBuffer json, Class<T> type) {
+        if (json == null || !json.hasRemaining()) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        if (json.hasArray()) {
+            return fromJson(json.array(), json.arrayOffset() + json.position(), json.remaining(), type);
+        }
+        // Direct, mapped and read-only buffers are tokenized in place
+        return fromJson(new JsonReader(JsonTokenizer.of(MemorySegment.ofBuffer(json))), type);
+    }
+
+    /**
+     * Deserializes a UTF-8 encoded file by mapping it into memory; only the decoded strings and
+     * numbers are copied to the heap. Files larger than 2 GiB are supported. The mapping is
+     * released before this method returns.
+     */
+    public static <T> T fromJson(Path json, Class<T> type) throws IOException {
+        try (var channel = FileChannel.open(json, StandardOpenOption.READ); var arena = Arena.ofConfined()) {
+            return fromJson(new JsonReader(JsonTokenizer.of(map(channel, arena))), type);
+        }
+    }
+
+    private static MemorySegment map(FileChannel channel, Arena arena) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+    }
+
+    private static <T> T fromJson(JsonReader jsonReader, Class<T> type) {
         @SuppressWarnings("unchecked")
-        Function<JsonValue, T> deserializer = (Function<JsonValue, T>) DESERIALIZERS.get(type);
-        if (deserializer == null) {
-            throw new JsonException("No JSON adapter registered for " + type.getName()
-                    + ". Annotate the record with @JsonRecord and ensure the annotation processor ran.");
+        Function<JsonReader, T> reader = (Function<JsonReader, T>) READERS.get(type);
+        T result;
+        if (reader != null) {
+            result = reader.apply(jsonReader);
+        } else {
+            // Adapters generated by older processors only bind from a JsonValue tree
+            @SuppressWarnings("unchecked")
+            Function<JsonValue, T> deserializer = (Function<JsonValue, T>) DESERIALIZERS.get(type);
+            if (deserializer == null) {
+                throw new JsonException("No JSON adapter registered for " + type.getName()
+                        + ". Annotate the record with @JsonRecord and ensure the annotation processor ran.");
+            }
+            result = deserializer.apply(new JsonParser(jsonReader).parseValue());
+        }
+        jsonReader.endDocument();
+        return result;
+    }
+
+    /**
+     * Lazily binds the elements of a top-level JSON array, one at a time. Only one element is held
+     * in memory, so heap use is bounded by the largest element rather than by the input size.
+     * Closing the stream closes {@code json}; read errors surface as {@link UncheckedIOException}.
+     */
+    public static <T> Stream<T> streamArray(InputStream json, Class<T> type) {
+        return stream(iterateArray(json, type));
+    }
+
+    public static <T> Stream<T> streamArray(Path json, Class<T> type) throws IOException {
+        return streamArray(Files.newInputStream(json), type);
+    }
+
+    public static <T> Stream<T> streamArray(byte[] json, Class<T> type) {
+        if (json == null) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        return stream(new JsonArrayReader<>(json, 0, json.length, reader -> fromJson(reader, type)));
+    }
+
+    /**
+     * Binds every element of a top-level array using {@code parallelism} threads and returns them
+     * in document order. One structural pass finds the element boundaries, then the elements are
+     * decoded concurrently on a fork-join pool that lives for the duration of the call.
+     */
+    public static <T> List<T> fromJsonArrayParallel(byte[] json, Class<T> type, int parallelism) {
+        if (json == null || json.length == 0) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        return JsonArrayReader.decodeParallel(json, 0, json.length, reader -> fromJson(reader, type), parallelism);
+    }
+
+    /**
+     * Returns a push parser for input that arrives in chunks: every value completed by a
+     * {@link JsonFeeder#feed(ByteBuffer) fed} chunk is bound and passed to {@code consumer}.
+     * Call {@link JsonFeeder#end()} once the input is exhausted.
+     */
+    public static <T> JsonFeeder<T> feeder(Class<T> type, Consumer<? super T> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        return new JsonFeeder<>(reader -> fromJson(reader, type), consumer);
+    }
+
+    /**
+     * Iterator counterpart of {@link #streamArray(InputStream, Class)}; close it to release the stream.
+     */
+    public static <T> JsonArrayReader<T> iterateArray(InputStream json, Class<T> type) {
+        Objects.requireNonNull(json, "json");
+        return new JsonArrayReader<>(json, reader -> fromJson(reader, type));
+    }
+
+    private static <T> Stream<T> stream(JsonArrayReader<T> reader) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .onClose(reader::close);
+    }
+
+    /**
+     * Reads newline-delimited JSON (NDJSON / JSON Lines), one value per line, in input order.
+     * Chunks of lines are decoded in parallel on the common fork-join pool while the stream is
+     * consumed. Blank lines are skipped. Closing the stream closes {@code json}.
+     */
+    public static <T> Stream<T> readLines(InputStream json, Class<T> type) {
+        return readLines(json, type, true);
+    }
+
+    /**
+     * Like {@link #readLines(InputStream, Class)}; with {@code ordered} false, values are returned
+     * as soon as their chunk is decoded, so one slow chunk does not hold back the others.
+     */
+    public static <T> Stream<T> readLines(InputStream json, Class<T> type, boolean ordered) {
+        Objects.requireNonNull(json, "json");
+        var reader = new JsonLinesReader<>(json, r -> fromJson(r, type), ordered);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader, ordered ? Spliterator.ORDERED : 0), false)
+                .onClose(reader::close);
+    }
+
+    public static <T> Stream<T> readLines(Path json, Class<T> type) throws IOException {
+        return readLines(Files.newInputStream(json), type, true);
+    }
+
+    public static <T> Stream<T> readLines(Path json, Class<T> type, boolean ordered) throws IOException {
+        return readLines(Files.newInputStream(json), type, ordered);
+    }
+
+    /**
+     * Writes each value as one line of newline-delimited JSON. Lines are encoded back to back into
+     * a large buffer that is written to the stream whenever it fills. The stream is flushed but not closed.
+     */
+    public static <T> void writeLines(Stream<T> values, OutputStream stream) throws IOException {
+        var out = new JsonOutput(stream, LINES_BUFFER_SIZE);
+        try {
+            values.forEachOrdered(value -> {
+                write(value, out);
+                out.writeByte('\n');
+            });
+            out.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            out.release();
         }
-        JsonValue value = JsonParser.parse(json);
-        return deserializer.apply(value);
     }
 
     public static JsonValue parse(String json) {
         return JsonParser.parse(json);
     }
+
+    /**
+     * Parses a UTF-8 encoded file by mapping it into memory rather than reading it onto the heap.
+     */
+    public static JsonValue parseFile(Path json) throws IOException {
+        try (var channel = FileChannel.open(json, StandardOpenOption.READ); var arena = Arena.ofConfined()) {
+            var reader = new JsonReader(JsonTokenizer.of(map(channel, arena)));
+            JsonValue value = new JsonParser(reader, true).parseValue();
+            reader.endDocument();
+            return value;
+        }
+    }
+
+    /**
+     * Returns the value at a JSON Pointer (RFC 6901) such as {@code /orders/17/total}, or null if
+     * there is none. Compile the pointer once with {@link JsonPath#compile} when it is reused.
+     */
+    public static JsonValue extract(String json, String pointer) {
+        return JsonPath.compile(pointer).extract(json);
+    }
+
+    public static JsonValue extract(byte[] json, String pointer) {
+        return JsonPath.compile(pointer).extract(json);
+    }
+
+    /**
+     * Validates the document in one pass and returns a tree whose strings, numbers and nested
+     * containers are decoded only when accessed. Suited to reading a few fields of a large
+     * document; the tree keeps {@code json} reachable for as long as it is in use.
+     */
+    public static JsonValue parseLazy(String json) {
+        return JsonTape.parse(json);
+    }
+
+    /**
+     * Lazy counterpart of {@link #parse(String)} for UTF-8 encoded bytes, which are not copied.
+     * The array must not be modified while the tree is in use.
+     */
+    public static JsonValue parseLazy(byte[] json) {
+        if (json == null) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        return JsonTape.parse(json, 0, json.length);
+    }
 }
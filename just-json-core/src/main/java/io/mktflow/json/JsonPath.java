@@ -0,0 +1,172 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonParser;
+import io.mktflow.json.internal.JsonReader;
+import io.mktflow.json.internal.JsonToken;
+import io.mktflow.json.internal.JsonTokenizer;
+import io.mktflow.json.internal.JsonValue;
+
+import java.util.Objects;
+
+/**
+ * A compiled JSON Pointer (RFC 6901), such as {@code /orders/17/total}. Extraction walks the
+ * document once and skips every sibling subtree by matching brackets, so only the target value
+ * is decoded. Skipped subtrees are not validated, and nothing after the target value is read.
+ * Instances are immutable and can be shared.
+ */
+public final class JsonPath {
+
+    private final String pointer;
+    private final String[] names;
+    private final int[] indexes; // array index for each segment, or -1 if it cannot address an element
+
+    private JsonPath(String pointer, String[] names, int[] indexes) {
+        this.pointer = pointer;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    public static JsonPath compile(String pointer) {
+        Objects.requireNonNull(pointer, "pointer");
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new JsonException("JSON Pointer must be empty or start with '/': " + pointer);
+        }
+        String[] segments = pointer.isEmpty() ? new String[0] : pointer.substring(1).split("/", -1);
+        int[] indexes = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = unescape(segments[i], pointer);
+            indexes[i] = arrayIndex(segments[i]);
+        }
+        return new JsonPath(pointer, segments, indexes);
+    }
+
+    private static String unescape(String segment, String pointer) {
+        if (segment.indexOf('~') < 0) {
+            return segment;
+        }
+        var sb = new StringBuilder(segment.length());
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c != '~') {
+                sb.append(c);
+            } else if (i + 1 < segment.length() && (segment.charAt(i + 1) == '0' || segment.charAt(i + 1) == '1')) {
+                sb.append(segment.charAt(++i) == '0' ? '~' : '/');
+            } else {
+                throw new JsonException("Invalid escape in JSON Pointer: " + pointer);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int arrayIndex(String segment) {
+        int length = segment.length();
+        if (length == 0 || length > 9 || (segment.charAt(0) == '0' && length > 1)) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value at this path, or null if the document has no value there.
+     */
+    public JsonValue extract(String json) {
+        if (json == null || json.isBlank()) {
+            throw new JsonException("Input JSON string is null or empty");
+        }
+        return extract(JsonTokenizer.of(json));
+    }
+
+    /**
+     * Returns the value at this path in UTF-8 encoded JSON, or null if the document has no value there.
+     */
+    public JsonValue extract(byte[] json) {
+        if (json == null || json.length == 0) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        return extract(JsonTokenizer.of(json, 0, json.length));
+    }
+
+    private JsonValue extract(JsonTokenizer tokenizer) {
+        for (int i = 0; i < names.length; i++) {
+            boolean found = switch (tokenizer.peek()) {
+                case LEFT_BRACE -> enterMember(tokenizer, names[i]);
+                case LEFT_BRACKET -> indexes[i] >= 0 && enterElement(tokenizer, indexes[i]);
+                default -> false;
+            };
+            if (!found) {
+                return null;
+            }
+        }
+        return new JsonParser(new JsonReader(tokenizer)).parseValue();
+    }
+
+    /**
+     * Positions the tokenizer at the value of member {@code name}, returning false if there is none.
+     */
+    private static boolean enterMember(JsonTokenizer tokenizer, String name) {
+        tokenizer.expect(JsonToken.Type.LEFT_BRACE);
+        if (tokenizer.peek() == JsonToken.Type.RIGHT_BRACE) {
+            return false;
+        }
+        while (true) {
+            JsonToken.Type type = tokenizer.peek();
+            if (type != JsonToken.Type.STRING) {
+                throw new JsonException("Expected STRING but got " + type + " at position " + tokenizer.position());
+            }
+            if (tokenizer.matchString(name)) {
+                tokenizer.expect(JsonToken.Type.COLON);
+                return true;
+            }
+            tokenizer.skipString();
+            tokenizer.expect(JsonToken.Type.COLON);
+            tokenizer.skipValue();
+            if (tokenizer.peek() != JsonToken.Type.COMMA) {
+                tokenizer.expect(JsonToken.Type.RIGHT_BRACE);
+                return false;
+            }
+            tokenizer.expect(JsonToken.Type.COMMA);
+        }
+    }
+
+    /**
+     * Positions the tokenizer at element {@code index}, returning false if the array is shorter.
+     */
+    private static boolean enterElement(JsonTokenizer tokenizer, int index) {
+        tokenizer.expect(JsonToken.Type.LEFT_BRACKET);
+        if (tokenizer.peek() == JsonToken.Type.RIGHT_BRACKET) {
+            return false;
+        }
+        for (int i = 0; i < index; i++) {
+            tokenizer.skipValue();
+            if (tokenizer.peek() != JsonToken.Type.COMMA) {
+                tokenizer.expect(JsonToken.Type.RIGHT_BRACKET);
+                return false;
+            }
+            tokenizer.expect(JsonToken.Type.COMMA);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonPath other && pointer.equals(other.pointer);
+    }
+
+    @Override
+    public int hashCode() {
+        return pointer.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return pointer;
+    }
+}
@@ -0,0 +1,18 @@
+package io.mktflow.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record as a narrow view of another record: each component must be declared by
+ * {@link #of()} with the same name and type, and is bound under that record's JSON name. The
+ * generated reader decodes only these members and skips all others without decoding them. The
+ * projected record must be compiled together with the projection so its JSON names are visible.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface JsonProjection {
+    Class<?> of();
+}
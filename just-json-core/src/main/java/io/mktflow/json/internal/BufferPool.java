@@ -0,0 +1,86 @@
+package io.mktflow.json.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded lock-free pool of serialization buffers. Unlike a {@code ThreadLocal} cache, retained
+ * memory does not scale with the number of (virtual) threads: at most {@link #SLOTS} buffers of at
+ * most {@link #MAX_RETAINED} chars or bytes each are kept. Acquiring from an empty pool allocates a
+ * fresh buffer, and releasing into a full pool (or an oversized buffer) drops it for the GC.
+ */
+public final class BufferPool<T> {
+
+    static final int SLOTS = Math.max(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+    static final int MAX_RETAINED = 1 << 20;
+
+    private static final int PROBES = 4;
+
+    /** Builders for {@code toJson(T)}. */
+    public static final BufferPool<StringBuilder> CHARS = new BufferPool<>(
+            () -> new StringBuilder(512), StringBuilder::capacity, sb -> sb.setLength(0));
+
+    /** Byte buffers backing {@link JsonOutput}. */
+    public static final BufferPool<byte[]> BYTES = new BufferPool<>(
+            () -> new byte[JsonOutput.DEFAULT_CAPACITY], b -> b.length, b -> {});
+
+    private final AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(SLOTS);
+    private final Supplier<T> factory;
+    private final ToIntFunction<T> capacity;
+    private final Consumer<T> reset;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private BufferPool(Supplier<T> factory, ToIntFunction<T> capacity, Consumer<T> reset) {
+        this.factory = factory;
+        this.capacity = capacity;
+        this.reset = reset;
+    }
+
+    public T acquire() {
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            T buffer = slots.getAndSet((home + i) & (SLOTS - 1), null);
+            if (buffer != null) {
+                hits.increment();
+                return buffer;
+            }
+        }
+        misses.increment();
+        return factory.get();
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not use it afterwards.
+     */
+    public void release(T buffer) {
+        if (capacity.applyAsInt(buffer) > MAX_RETAINED) {
+            return;
+        }
+        reset.accept(buffer);
+        int home = home();
+        for (int i = 0; i < PROBES; i++) {
+            if (slots.compareAndSet((home + i) & (SLOTS - 1), null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /** Number of acquisitions served from the pool. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** Number of acquisitions that had to allocate a new buffer. */
+    public long misses() {
+        return misses.sum();
+    }
+
+    private static int home() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16;
+    }
+}
@@ -0,0 +1,415 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+/**
+ * Scanner for UTF-8 encoded input, shared by every byte source. Subclasses supply byte access,
+ * decoding of byte ranges and the loops that pass over every byte of a run: whitespace, string
+ * contents and skipped containers. Offsets are {@code long} so that sources larger than 2 GiB work.
+ */
+abstract sealed class ByteJsonTokenizer extends JsonTokenizer permits Utf8JsonTokenizer, SegmentJsonTokenizer {
+
+    final long start;
+    final long end;
+    long pos;
+
+    // Scan state of the last number: value = (negative ? -1 : 1) * mantissa * 10^exponent
+    private long mantissa;
+    private int exponent;
+    private boolean negative;
+    private boolean truncated; // more than 19 significant digits; mantissa is inexact
+    private boolean integral;  // no fraction or exponent part
+
+    ByteJsonTokenizer(long start, long end) {
+        this.start = start;
+        this.end = end;
+        this.pos = start;
+    }
+
+    abstract byte byteAt(long i);
+
+    /**
+     * Returns the offset of the first {@code '"'} or {@code '\'} at or after {@code from}, or
+     * {@link #end} if there is none. Strings are scanned run by run with it, so each source can
+     * implement the one loop that touches every byte of a string in the tightest form it allows.
+     */
+    abstract long indexOfQuoteOrEscape(long from);
+
+    /**
+     * Decodes {@code [from, to)}, known to hold only single-byte characters.
+     */
+    abstract String latin1(long from, long to);
+
+    abstract String utf8(long from, long to);
+
+    /**
+     * Returns the canonical instance of the short string {@code [from, to)} from {@link #strings},
+     * or null if it is not ASCII.
+     */
+    abstract String cached(long from, long to);
+
+    @Override
+    public long position() {
+        return pos - start;
+    }
+
+    @Override
+    public JsonToken.Type peek() {
+        skipWhitespace();
+        if (pos >= end) {
+            return JsonToken.Type.EOF;
+        }
+        byte b = byteAt(pos);
+        return switch (b) {
+            case '{' -> JsonToken.Type.LEFT_BRACE;
+            case '}' -> JsonToken.Type.RIGHT_BRACE;
+            case '[' -> JsonToken.Type.LEFT_BRACKET;
+            case ']' -> JsonToken.Type.RIGHT_BRACKET;
+            case ':' -> JsonToken.Type.COLON;
+            case ',' -> JsonToken.Type.COMMA;
+            case '"' -> JsonToken.Type.STRING;
+            case 't' -> JsonToken.Type.TRUE;
+            case 'f' -> JsonToken.Type.FALSE;
+            case 'n' -> JsonToken.Type.NULL;
+            default -> {
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    yield JsonToken.Type.NUMBER;
+                }
+                throw new JsonException("Unexpected character '" + (char) (b & 0xFF) + "' at position " + position());
+            }
+        };
+    }
+
+    @Override
+    public void expect(JsonToken.Type type) {
+        JsonToken.Type actual = peek();
+        if (actual != type) {
+            throw new JsonException("Expected " + type + " but got " + actual + " at position " + position());
+        }
+        switch (type) {
+            case TRUE -> readLiteral("true");
+            case FALSE -> readLiteral("false");
+            case NULL -> readLiteral("null");
+            case STRING, NUMBER, EOF -> throw new IllegalArgumentException("Not a single-character token: " + type);
+            default -> pos++;
+        }
+    }
+
+    @Override
+    void seek(int position) {
+        pos = start + position;
+    }
+
+    /**
+     * Advances {@link #pos} past JSON whitespace. Called before every token, so each source
+     * implements it over its own storage.
+     */
+    abstract void skipWhitespace();
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    @Override
+    public String readString() {
+        long from = pos + 1;
+        long close = indexOfQuoteOrEscape(from);
+        // Fast path: no escapes, so the content decodes in one piece
+        if (close < end && byteAt(close) == '"') {
+            pos = close + 1;
+            if (strings != null && close - from <= StringCache.MAX_LENGTH) {
+                String cached = cached(from, close);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            return utf8(from, close);
+        }
+        return readStringSlow(pos);
+    }
+
+    private String readStringSlow(long quote) {
+        pos = quote + 1;
+        var sb = new StringBuilder();
+        while (true) {
+            long stop = indexOfQuoteOrEscape(pos);
+            if (stop >= end) {
+                break;
+            }
+            appendUtf8(sb, pos, stop);
+            pos = stop + 1;
+            if (byteAt(stop) == '"') {
+                return sb.toString();
+            }
+            if (pos >= end) {
+                throw new JsonException("Unterminated string escape at position " + position());
+            }
+            byte escaped = byteAt(pos);
+            switch (escaped) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 >= end) {
+                        throw new JsonException("Unterminated unicode escape at position " + position());
+                    }
+                    sb.append((char) Integer.parseInt(latin1(pos + 1, pos + 5), 16));
+                    pos += 4;
+                }
+                default -> throw new JsonException("Invalid escape character '\\" + (char) (escaped & 0xFF) + "' at position " + position());
+            }
+            pos++;
+        }
+        throw new JsonException("Unterminated string starting at position " + (quote - start));
+    }
+
+    private void appendUtf8(StringBuilder sb, long from, long to) {
+        if (to > from) {
+            sb.append(utf8(from, to));
+        }
+    }
+
+    @Override
+    public void skipString() {
+        long quote = pos;
+        pos++; // skip opening quote
+        while (true) {
+            long stop = indexOfQuoteOrEscape(pos);
+            if (stop >= end) {
+                break;
+            }
+            pos = stop + 1;
+            if (byteAt(stop) == '"') {
+                return;
+            }
+            if (pos >= end) {
+                throw new JsonException("Unterminated string escape at position " + position());
+            }
+            byte escaped = byteAt(pos);
+            switch (escaped) {
+                case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> {}
+                case 'u' -> pos += 4;
+                default -> throw new JsonException("Invalid escape character '\\" + (char) (escaped & 0xFF) + "' at position " + position());
+            }
+            pos++;
+        }
+        throw new JsonException("Unterminated string starting at position " + (quote - start));
+    }
+
+    /**
+     * Fails for the object or array opening at {@code open} that {@link #skipContainer} ran out
+     * of input for. Each source implements the skip itself, as one loop over its own storage.
+     */
+    JsonException unterminatedContainer(long open) {
+        return new JsonException("Unterminated " + (byteAt(open) == '{' ? "object" : "array") + " starting at position " + (open - start));
+    }
+
+    @Override
+    public boolean matchString(String expected) {
+        long i = pos + 1;
+        int length = expected.length();
+        boolean matched = true;
+        for (int k = 0; k < length && matched; k++) {
+            char c = expected.charAt(k);
+            if (c < 0x80) {
+                matched = i < end && byteAt(i) == c && c != '\\' && c != '"';
+                i++;
+            } else if (c < 0x800) {
+                matched = i + 1 < end
+                        && byteAt(i) == (byte) (0xC0 | (c >> 6))
+                        && byteAt(i + 1) == (byte) (0x80 | (c & 0x3F));
+                i += 2;
+            } else if (Character.isHighSurrogate(c) && k + 1 < length && Character.isLowSurrogate(expected.charAt(k + 1))) {
+                int cp = Character.toCodePoint(c, expected.charAt(++k));
+                matched = i + 3 < end
+                        && byteAt(i) == (byte) (0xF0 | (cp >> 18))
+                        && byteAt(i + 1) == (byte) (0x80 | ((cp >> 12) & 0x3F))
+                        && byteAt(i + 2) == (byte) (0x80 | ((cp >> 6) & 0x3F))
+                        && byteAt(i + 3) == (byte) (0x80 | (cp & 0x3F));
+                i += 4;
+            } else {
+                matched = i + 2 < end
+                        && byteAt(i) == (byte) (0xE0 | (c >> 12))
+                        && byteAt(i + 1) == (byte) (0x80 | ((c >> 6) & 0x3F))
+                        && byteAt(i + 2) == (byte) (0x80 | (c & 0x3F));
+                i += 3;
+            }
+        }
+        if (matched && i < end && byteAt(i) == '"') {
+            pos = i + 1;
+            return true;
+        }
+        if (nameLength() >= 0) {
+            return false;
+        }
+        // Escaped in the input: decode and compare
+        long saved = pos;
+        if (readString().equals(expected)) {
+            return true;
+        }
+        pos = saved;
+        return false;
+    }
+
+    @Override
+    public int nameLength() {
+        long stop = indexOfQuoteOrEscape(pos + 1);
+        if (stop >= end) {
+            throw new JsonException("Unterminated string starting at position " + position());
+        }
+        return byteAt(stop) == '"' ? (int) (stop - pos - 1) : -1;
+    }
+
+    @Override
+    public int nameLeadByte() {
+        if (pos + 1 >= end) {
+            throw new JsonException("Unterminated string starting at position " + position());
+        }
+        byte b = byteAt(pos + 1);
+        return b == '"' ? -1 : b & 0xFF;
+    }
+
+    @Override
+    public String readNumber() {
+        long numberStart = scanNumber();
+        return latin1(numberStart, pos);
+    }
+
+    @Override
+    public void skipNumber() {
+        scanNumber();
+    }
+
+    @Override
+    public long readLong() {
+        long numberStart = scanNumber();
+        if (!integral) {
+            throw new JsonException("Expected integer but got " + latin1(numberStart, pos) + " at position " + (numberStart - start));
+        }
+        if (exponent == 0 && !truncated && (negative ? Long.compareUnsigned(mantissa, Long.MIN_VALUE) <= 0 : mantissa >= 0)) {
+            return negative ? -mantissa : mantissa;
+        }
+        throw new JsonException("Number out of range for long: " + latin1(numberStart, pos) + " at position " + (numberStart - start));
+    }
+
+    @Override
+    public double readDouble() {
+        long numberStart = scanNumber();
+        if (truncated) {
+            return Double.parseDouble(latin1(numberStart, pos));
+        }
+        return JsonNumbers.toDouble(negative, mantissa, exponent);
+    }
+
+    @Override
+    public float readFloat() {
+        long numberStart = scanNumber();
+        if (truncated) {
+            return Float.parseFloat(latin1(numberStart, pos));
+        }
+        return JsonNumbers.toFloat(negative, mantissa, exponent);
+    }
+
+    /**
+     * Validates the number at the cursor and accumulates it into the scan fields.
+     * Returns its start offset.
+     */
+    private long scanNumber() {
+        long numberStart = pos;
+        long m = 0;
+        int digits = 0;
+        int exp = 0;
+        negative = false;
+        truncated = false;
+        integral = true;
+        if (pos < end && byteAt(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+        if (pos >= end || !isDigit(byteAt(pos))) {
+            throw new JsonException("Invalid number at position " + (numberStart - start));
+        }
+        if (byteAt(pos) == '0') {
+            pos++;
+        } else {
+            byte b;
+            while (pos < end && isDigit(b = byteAt(pos))) {
+                int d = b - '0';
+                if (digits < 19) {
+                    m = m * 10 + d;
+                    digits++;
+                } else {
+                    exp++;
+                    truncated |= d != 0;
+                }
+                pos++;
+            }
+        }
+        if (pos < end && byteAt(pos) == '.') {
+            integral = false;
+            pos++;
+            if (pos >= end || !isDigit(byteAt(pos))) {
+                throw new JsonException("Invalid number at position " + (numberStart - start));
+            }
+            byte b;
+            while (pos < end && isDigit(b = byteAt(pos))) {
+                int d = b - '0';
+                if (m == 0 && d == 0) {
+                    exp--; // leading zero after the point
+                } else if (digits < 19) {
+                    m = m * 10 + d;
+                    digits++;
+                    exp--;
+                } else {
+                    truncated |= d != 0;
+                }
+                pos++;
+            }
+        }
+        if (pos < end && (byteAt(pos) == 'e' || byteAt(pos) == 'E')) {
+            integral = false;
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (byteAt(pos) == '+' || byteAt(pos) == '-')) {
+                negativeExponent = byteAt(pos) == '-';
+                pos++;
+            }
+            if (pos >= end || !isDigit(byteAt(pos))) {
+                throw new JsonException("Invalid number at position " + (numberStart - start));
+            }
+            int e = 0;
+            byte b;
+            while (pos < end && isDigit(b = byteAt(pos))) {
+                if (e < 100_000) {
+                    e = e * 10 + (b - '0');
+                }
+                pos++;
+            }
+            exp += negativeExponent ? -e : e;
+        }
+        mantissa = m;
+        exponent = exp;
+        return numberStart;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void readLiteral(String expected) {
+        if (pos + expected.length() > end) {
+            throw new JsonException("Expected '" + expected + "' at position " + position());
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (byteAt(pos + i) != expected.charAt(i)) {
+                throw new JsonException("Expected '" + expected + "' at position " + position());
+            }
+        }
+        pos += expected.length();
+    }
+}
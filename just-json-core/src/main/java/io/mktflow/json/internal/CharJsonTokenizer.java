@@ -0,0 +1,405 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+final class CharJsonTokenizer extends JsonTokenizer {
+
+    private final String input;
+    private int pos;
+
+    // Scan state of the last number: value = (negative ? -1 : 1) * mantissa * 10^exponent
+    private long mantissa;
+    private int exponent;
+    private boolean negative;
+    private boolean truncated; // more than 19 significant digits; mantissa is inexact
+    private boolean integral;  // no fraction or exponent part
+
+    CharJsonTokenizer(String input) {
+        this.input = input;
+        this.pos = 0;
+    }
+
+    @Override
+    public long position() {
+        return pos;
+    }
+
+    @Override
+    public JsonToken.Type peek() {
+        skipWhitespace();
+        if (pos >= input.length()) {
+            return JsonToken.Type.EOF;
+        }
+        char c = input.charAt(pos);
+        return switch (c) {
+            case '{' -> JsonToken.Type.LEFT_BRACE;
+            case '}' -> JsonToken.Type.RIGHT_BRACE;
+            case '[' -> JsonToken.Type.LEFT_BRACKET;
+            case ']' -> JsonToken.Type.RIGHT_BRACKET;
+            case ':' -> JsonToken.Type.COLON;
+            case ',' -> JsonToken.Type.COMMA;
+            case '"' -> JsonToken.Type.STRING;
+            case 't' -> JsonToken.Type.TRUE;
+            case 'f' -> JsonToken.Type.FALSE;
+            case 'n' -> JsonToken.Type.NULL;
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    yield JsonToken.Type.NUMBER;
+                }
+                throw new JsonException("Unexpected character '" + c + "' at position " + pos);
+            }
+        };
+    }
+
+    @Override
+    public void expect(JsonToken.Type type) {
+        JsonToken.Type actual = peek();
+        if (actual != type) {
+            throw new JsonException("Expected " + type + " but got " + actual + " at position " + pos);
+        }
+        switch (type) {
+            case TRUE -> readLiteral("true");
+            case FALSE -> readLiteral("false");
+            case NULL -> readLiteral("null");
+            case STRING, NUMBER, EOF -> throw new IllegalArgumentException("Not a single-character token: " + type);
+            default -> pos++;
+        }
+    }
+
+    @Override
+    void seek(int position) {
+        pos = position;
+    }
+
+    private void skipWhitespace() {
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                pos++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public String readString() {
+        int quote = pos;
+        // Fast path: both searches are vectorized by the JDK, and a string without escapes
+        // becomes a single substring copy
+        int close = input.indexOf('"', quote + 1);
+        if (close < 0) {
+            throw new JsonException("Unterminated string starting at position " + quote);
+        }
+        int backslash = input.indexOf('\\', quote + 1, close);
+        if (backslash < 0) {
+            pos = close + 1;
+            if (strings != null && close - quote - 1 <= StringCache.MAX_LENGTH) {
+                return strings.get(input, quote + 1, close);
+            }
+            return input.substring(quote + 1, close);
+        }
+        return readEscapedString(quote, backslash);
+    }
+
+    private String readEscapedString(int quote, int backslash) {
+        var sb = new StringBuilder(backslash - quote + 16);
+        sb.append(input, quote + 1, backslash);
+        pos = backslash;
+        int runStart = pos;
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (c == '"') {
+                sb.append(input, runStart, pos);
+                pos++; // skip closing quote
+                return sb.toString();
+            }
+            if (c != '\\') {
+                pos++;
+                continue;
+            }
+            sb.append(input, runStart, pos);
+            pos++;
+            if (pos >= input.length()) {
+                throw new JsonException("Unterminated string escape at position " + pos);
+            }
+            char escaped = input.charAt(pos);
+            switch (escaped) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 >= input.length()) {
+                        throw new JsonException("Unterminated unicode escape at position " + pos);
+                    }
+                    String hex = input.substring(pos + 1, pos + 5);
+                    sb.append((char) Integer.parseInt(hex, 16));
+                    pos += 4;
+                }
+                default -> throw new JsonException("Invalid escape character '\\" + escaped + "' at position " + pos);
+            }
+            pos++;
+            runStart = pos;
+        }
+        throw new JsonException("Unterminated string starting at position " + quote);
+    }
+
+    @Override
+    public void skipString() {
+        int start = pos;
+        int close = input.indexOf('"', start + 1);
+        if (close >= 0 && input.indexOf('\\', start + 1, close) < 0) {
+            pos = close + 1;
+            return;
+        }
+        pos++; // skip opening quote
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (c == '"') {
+                pos++;
+                return;
+            }
+            if (c == '\\') {
+                pos++;
+                if (pos >= input.length()) {
+                    throw new JsonException("Unterminated string escape at position " + pos);
+                }
+                switch (input.charAt(pos)) {
+                    case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> {}
+                    case 'u' -> pos += 4;
+                    default -> throw new JsonException("Invalid escape character '\\" + input.charAt(pos) + "' at position " + pos);
+                }
+            }
+            pos++;
+        }
+        throw new JsonException("Unterminated string starting at position " + start);
+    }
+
+    @Override
+    void skipContainer() {
+        int open = pos;
+        beginSkip();
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                pos++;
+            } else if (skipToken(c, pos)) {
+                pos++;
+                return;
+            } else if (c == '"') {
+                skipString();
+            } else {
+                pos++;
+                if (!endsScalar(c)) {
+                    while (pos < input.length() && !endsScalar(input.charAt(pos))) {
+                        pos++;
+                    }
+                }
+            }
+        }
+        throw new JsonException("Unterminated " + (input.charAt(open) == '{' ? "object" : "array") + " starting at position " + open);
+    }
+
+    @Override
+    public boolean matchString(String expected) {
+        int start = pos + 1;
+        int end = start + expected.length();
+        if (end < input.length() && input.charAt(end) == '"' && input.regionMatches(start, expected, 0, expected.length())
+                && expected.indexOf('\\') < 0 && expected.indexOf('"') < 0) {
+            pos = end + 1;
+            return true;
+        }
+        if (nameLength() >= 0) {
+            return false;
+        }
+        // Escaped in the input: decode and compare
+        int saved = pos;
+        if (readString().equals(expected)) {
+            return true;
+        }
+        pos = saved;
+        return false;
+    }
+
+    @Override
+    public int nameLength() {
+        int length = 0;
+        for (int i = pos + 1; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '"') {
+                return length;
+            }
+            if (c == '\\') {
+                return -1;
+            }
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < input.length() && Character.isLowSurrogate(input.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        throw new JsonException("Unterminated string starting at position " + pos);
+    }
+
+    @Override
+    public int nameLeadByte() {
+        if (pos + 1 >= input.length()) {
+            throw new JsonException("Unterminated string starting at position " + pos);
+        }
+        char c = input.charAt(pos + 1);
+        if (c == '"') {
+            return -1;
+        }
+        if (c < 0x80) {
+            return c;
+        }
+        if (c < 0x800) {
+            return 0xC0 | (c >> 6);
+        }
+        if (Character.isHighSurrogate(c) && pos + 2 < input.length() && Character.isLowSurrogate(input.charAt(pos + 2))) {
+            return 0xF0 | (Character.toCodePoint(c, input.charAt(pos + 2)) >> 18);
+        }
+        return 0xE0 | (c >> 12);
+    }
+
+    @Override
+    public String readNumber() {
+        int numberStart = scanNumber();
+        return input.substring(numberStart, pos);
+    }
+
+    @Override
+    public void skipNumber() {
+        scanNumber();
+    }
+
+    @Override
+    public long readLong() {
+        int numberStart = scanNumber();
+        if (!integral) {
+            throw new JsonException("Expected integer but got " + input.substring(numberStart, pos) + " at position " + numberStart);
+        }
+        if (exponent == 0 && !truncated && (negative ? Long.compareUnsigned(mantissa, Long.MIN_VALUE) <= 0 : mantissa >= 0)) {
+            return negative ? -mantissa : mantissa;
+        }
+        throw new JsonException("Number out of range for long: " + input.substring(numberStart, pos) + " at position " + numberStart);
+    }
+
+    @Override
+    public double readDouble() {
+        int numberStart = scanNumber();
+        if (truncated) {
+            return Double.parseDouble(input.substring(numberStart, pos));
+        }
+        return JsonNumbers.toDouble(negative, mantissa, exponent);
+    }
+
+    @Override
+    public float readFloat() {
+        int numberStart = scanNumber();
+        if (truncated) {
+            return Float.parseFloat(input.substring(numberStart, pos));
+        }
+        return JsonNumbers.toFloat(negative, mantissa, exponent);
+    }
+
+    /**
+     * Validates the number at the cursor and accumulates it into the scan fields.
+     * Returns its start offset.
+     */
+    private int scanNumber() {
+        int numberStart = pos;
+        long m = 0;
+        int digits = 0;
+        int exp = 0;
+        negative = false;
+        truncated = false;
+        integral = true;
+        if (pos < input.length() && input.charAt(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+        if (pos >= input.length() || !isDigit(input.charAt(pos))) {
+            throw new JsonException("Invalid number at position " + numberStart);
+        }
+        if (input.charAt(pos) == '0') {
+            pos++;
+        } else {
+            while (pos < input.length() && isDigit(input.charAt(pos))) {
+                int d = input.charAt(pos) - '0';
+                if (digits < 19) {
+                    m = m * 10 + d;
+                    digits++;
+                } else {
+                    exp++;
+                    truncated |= d != 0;
+                }
+                pos++;
+            }
+        }
+        if (pos < input.length() && input.charAt(pos) == '.') {
+            integral = false;
+            pos++;
+            if (pos >= input.length() || !isDigit(input.charAt(pos))) {
+                throw new JsonException("Invalid number at position " + numberStart);
+            }
+            while (pos < input.length() && isDigit(input.charAt(pos))) {
+                int d = input.charAt(pos) - '0';
+                if (m == 0 && d == 0) {
+                    exp--; // leading zero after the point
+                } else if (digits < 19) {
+                    m = m * 10 + d;
+                    digits++;
+                    exp--;
+                } else {
+                    truncated |= d != 0;
+                }
+                pos++;
+            }
+        }
+        if (pos < input.length() && (input.charAt(pos) == 'e' || input.charAt(pos) == 'E')) {
+            integral = false;
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < input.length() && (input.charAt(pos) == '+' || input.charAt(pos) == '-')) {
+                negativeExponent = input.charAt(pos) == '-';
+                pos++;
+            }
+            if (pos >= input.length() || !isDigit(input.charAt(pos))) {
+                throw new JsonException("Invalid number at position " + numberStart);
+            }
+            int e = 0;
+            while (pos < input.length() && isDigit(input.charAt(pos))) {
+                if (e < 100_000) {
+                    e = e * 10 + (input.charAt(pos) - '0');
+                }
+                pos++;
+            }
+            exp += negativeExponent ? -e : e;
+        }
+        mantissa = m;
+        exponent = exp;
+        return numberStart;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void readLiteral(String expected) {
+        if (pos + expected.length() > input.length() || !input.startsWith(expected, pos)) {
+            throw new JsonException("Expected '" + expected + "' at position " + pos);
+        }
+        pos += expected.length();
+    }
+}
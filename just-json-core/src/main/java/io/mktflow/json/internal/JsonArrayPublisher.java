@@ -0,0 +1,177 @@
+package io.mktflow.json.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Publishes a JSON array as UTF-8 chunks of {@link #CHUNK} bytes, the last one possibly shorter.
+ * Elements are pulled from the source and encoded only while the subscriber has outstanding
+ * demand, on the thread that calls {@link Flow.Subscription#request(long)}, so at most one
+ * element's worth of chunks is ever buffered ahead of the subscriber. Each emitted buffer is a new
+ * buffer, ready to read, that the subscriber may keep.
+ * <p>
+ * The source can only be consumed once, so a second subscriber is rejected with an error. Cancelling
+ * or completing the subscription runs {@code onClose}.
+ */
+public final class JsonArrayPublisher<T> implements Flow.Publisher<ByteBuffer> {
+
+    static final int CHUNK = 16 * 1024;
+
+    private final Iterator<? extends T> source;
+    private final Runnable onClose;
+    private final BiConsumer<T, JsonOutput> writer;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public JsonArrayPublisher(Iterator<? extends T> source, Runnable onClose, BiConsumer<T, JsonOutput> writer) {
+        this.source = source;
+        this.onClose = onClose;
+        this.writer = writer;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("JSON array publisher allows only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new ArraySubscription(subscriber));
+    }
+
+    private final class ArraySubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final ArrayDeque<ByteBuffer> ready = new ArrayDeque<>();
+        private volatile boolean cancelled;
+        private Throwable invalidRequest;
+        private JsonOutput out;
+        private boolean started;
+        private boolean encoded; // the closing bracket has been written
+        private boolean terminated;
+
+        ArraySubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " chunks; demand must be positive");
+                cancelled = true;
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        /**
+         * Emits chunks while there is demand. Only one thread runs the loop at a time; calls made
+         * meanwhile, including reentrant ones from {@code onNext}, make it go around again.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    emit();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                while (!cancelled) {
+                    if (ready.isEmpty()) {
+                        if (encoded) {
+                            terminate();
+                            subscriber.onComplete();
+                            return;
+                        }
+                        if (demand.get() == 0) {
+                            return;
+                        }
+                        encodeNext();
+                        continue;
+                    }
+                    if (demand.get() == 0) {
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(ready.poll());
+                }
+                terminate();
+                if (invalidRequest != null) {
+                    subscriber.onError(invalidRequest);
+                }
+            } catch (RuntimeException e) {
+                if (terminated) {
+                    throw e;
+                }
+                terminate();
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Encodes the next element, or the closing bracket after the last one. Bytes reach
+         * {@link #ready} whenever a whole chunk fills and, at the end, with the final flush.
+         */
+        private void encodeNext() {
+            if (!started) {
+                started = true;
+                out = new JsonOutput(ByteBuffer.allocate(CHUNK), full -> {
+                    ready.add(full.flip());
+                    return ByteBuffer.allocate(CHUNK);
+                });
+                out.writeByte('[');
+            } else if (source.hasNext()) {
+                out.writeByte(',');
+            }
+            if (source.hasNext()) {
+                writer.accept(source.next(), out);
+                return;
+            }
+            out.writeByte(']');
+            out.flush();
+            ByteBuffer last = out.target().flip();
+            if (last.hasRemaining()) {
+                ready.add(last);
+            }
+            encoded = true;
+        }
+
+        private void terminate() {
+            terminated = true;
+            cancelled = true;
+            ready.clear();
+            if (out != null) {
+                out.release();
+                out = null;
+            }
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Iterates over the elements of a top-level JSON array one at a time. Each element is framed by
+ * tracking nesting depth and string state while reading, then decoded in place from the read
+ * buffer, which only ever needs to hold a single element. Heap use is bounded by the largest
+ * element, not by the size of the input.
+ * <p>
+ * Element contents are validated when they are decoded. Closing the reader closes the stream.
+ */
+public final class JsonArrayReader<T> implements Iterator<T>, AutoCloseable {
+
+    private static final int CHUNK = 64 * 1024;
+
+    private static final int BEFORE_ARRAY = 0;
+    private static final int IN_ARRAY = 1;
+    private static final int DONE = 2;
+
+    private final InputStream in; // null when reading from an array
+    private final Function<JsonReader, T> decoder;
+    private byte[] buf;
+    private int start; // first byte of the element being framed; nothing before it is retained
+    private int pos;
+    private int limit;
+    private long offset; // input position of buf[0]
+    private int state = BEFORE_ARRAY;
+    private boolean framed; // an element is ready in buf[start, pos)
+
+    public JsonArrayReader(InputStream in, Function<JsonReader, T> decoder) {
+        this.in = in;
+        this.decoder = decoder;
+        this.buf = new byte[CHUNK];
+    }
+
+    public JsonArrayReader(byte[] json, int offset, int length, Function<JsonReader, T> decoder) {
+        this.in = null;
+        this.decoder = decoder;
+        this.buf = json;
+        this.start = offset;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.offset = -offset;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!framed && state != DONE) {
+            frameNext();
+        }
+        return framed;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        framed = false;
+        try {
+            var reader = new JsonReader(buf, start, pos - start);
+            T value = decoder.apply(reader);
+            reader.endDocument();
+            return value;
+        } catch (JsonException e) {
+            throw new JsonException("Invalid array element at position " + (offset + start) + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodes all elements of a top-level array concurrently and returns them in order. A
+     * sequential structural pass records the bounds of each element, then contiguous runs of
+     * elements are decoded on a dedicated fork-join pool.
+     */
+    public static <T> List<T> decodeParallel(byte[] json, int offset, int length,
+                                             Function<JsonReader, T> decoder, int parallelism) {
+        var framer = new JsonArrayReader<>(json, offset, length, decoder);
+        int[] bounds = new int[64];
+        int count = 0;
+        while (framer.hasNext()) {
+            if (2 * count + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[2 * count] = framer.start;
+            bounds[2 * count + 1] = framer.pos;
+            count++;
+            framer.framed = false;
+        }
+        Object[] results = new Object[count];
+        int grain = Math.max(1, count / (parallelism * 8));
+        try (var pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new DecodeTask<>(json, offset, bounds, results, decoder, 0, count, grain));
+        }
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Collections.unmodifiableList(Arrays.asList(results));
+        return list;
+    }
+
+    private static final class DecodeTask<T> extends RecursiveAction {
+
+        private final byte[] json;
+        private final int offset;
+        private final int[] bounds;
+        private final Object[] results;
+        private final Function<JsonReader, T> decoder;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        DecodeTask(byte[] json, int offset, int[] bounds, Object[] results, Function<JsonReader, T> decoder,
+                   int from, int to, int grain) {
+            this.json = json;
+            this.offset = offset;
+            this.bounds = bounds;
+            this.results = results;
+            this.decoder = decoder;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new DecodeTask<>(json, offset, bounds, results, decoder, from, middle, grain),
+                        new DecodeTask<>(json, offset, bounds, results, decoder, middle, to, grain));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                int start = bounds[2 * i];
+                try {
+                    var reader = new JsonReader(json, start, bounds[2 * i + 1] - start);
+                    results[i] = decoder.apply(reader);
+                    reader.endDocument();
+                } catch (JsonException e) {
+                    throw new JsonException("Invalid array element at position " + (start - offset) + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        state = DONE;
+        framed = false;
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void frameNext() {
+        start = pos;
+        int c = nextNonWhitespace();
+        if (state == BEFORE_ARRAY) {
+            if (c != '[') {
+                throw error("Expected '[' at start of array");
+            }
+            state = IN_ARRAY;
+            c = nextNonWhitespace();
+            if (c == ']') {
+                finish();
+                return;
+            }
+        } else if (c == ']') {
+            finish();
+            return;
+        } else if (c == ',') {
+            c = nextNonWhitespace();
+        } else {
+            throw error(c < 0 ? "Unterminated array" : "Expected ',' or ']' between array elements");
+        }
+        if (c < 0) {
+            throw error("Unterminated array");
+        }
+        pos--;
+        start = pos;
+        scanElement();
+        if (pos == start) {
+            throw error("Expected array element");
+        }
+        framed = true;
+    }
+
+    /**
+     * Advances {@link #pos} past one value starting at {@link #start}, stopping before the
+     * delimiter that follows a top-level scalar.
+     */
+    private void scanElement() {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (true) {
+            if (pos == limit && !fill()) {
+                if (depth > 0 || inString) {
+                    throw error("Unterminated array element");
+                }
+                return;
+            }
+            byte b = buf[pos];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        pos++;
+                        return;
+                    }
+                }
+                pos++;
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (depth == 0) {
+                        return;
+                    }
+                    if (--depth == 0) {
+                        pos++;
+                        return;
+                    }
+                }
+                case ',', ' ', '\t', '\n', '\r' -> {
+                    if (depth == 0) {
+                        return;
+                    }
+                }
+                default -> {}
+            }
+            pos++;
+        }
+    }
+
+    private void finish() {
+        state = DONE;
+        if (nextNonWhitespace() >= 0) {
+            pos--;
+            throw error("Unexpected data after end of array");
+        }
+    }
+
+    /**
+     * Returns the next byte that is not whitespace and consumes it, or -1 at the end of input.
+     */
+    private int nextNonWhitespace() {
+        while (pos < limit || fill()) {
+            int b = buf[pos++] & 0xFF;
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads more input after {@link #limit}, first dropping everything before {@link #start} and
+     * growing the buffer only when a single element fills it. Returns false at the end of input.
+     */
+    private boolean fill() {
+        if (in == null) {
+            return false;
+        }
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, limit - start);
+            offset += start;
+            pos -= start;
+            limit -= start;
+            start = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        try {
+            int n;
+            do {
+                n = in.read(buf, limit, buf.length - limit);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            limit += n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonException error(String message) {
+        return new JsonException(message + " at position " + (offset + pos));
+    }
+}
@@ -0,0 +1,486 @@
+package io.mktflow.json.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Writes numbers as ASCII digits straight into a byte buffer, with output identical to
+ * {@link Long#toString(long)}, {@link Double#toString(double)} and {@link Float#toString(float)}.
+ * Integers are emitted two digits at a time; floating-point values use the Schubfach
+ * shortest round-trip algorithm (R. Giulietti), the same one behind {@code Double.toString}.
+ * Every method writes at {@code pos} and returns the position after the last byte written;
+ * the caller guarantees room for {@link #MAX_LENGTH} bytes.
+ */
+final class JsonDigits {
+
+    /** Longest output of any method here, e.g. {@code -2.2250738585072014E-308}. */
+    static final int MAX_LENGTH = 24;
+
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final byte[] LONG_MIN = "-9223372036854775808".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    private static final byte[] INT_MIN = "-2147483648".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+
+    // Schubfach: g = floor(10^-k 2^-r) + 1 with 2^125 <= g < 2^126, split into 63-bit halves
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long[] G = gTable();
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    // binary64
+    private static final int D_P = 53;
+    private static final int D_Q_MIN = -1074;
+    private static final long D_C_MIN = 1L << (D_P - 1);
+    private static final int D_C_TINY = 3;
+    private static final int D_H = 17;
+
+    // binary32
+    private static final int F_P = 24;
+    private static final int F_Q_MIN = -149;
+    private static final int F_C_MIN = 1 << (F_P - 1);
+    private static final int F_C_TINY = 8;
+    private static final int F_H = 9;
+
+    private JsonDigits() {}
+
+    // --- integers ---
+
+    static int writeInt(int value, byte[] buf, int pos) {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                System.arraycopy(INT_MIN, 0, buf, pos, INT_MIN.length);
+                return pos + INT_MIN.length;
+            }
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        int i = end;
+        while (value >= 100) {
+            int q = value / 100;
+            int r = value - q * 100;
+            i -= 2;
+            buf[i] = DIGIT_PAIRS[2 * r];
+            buf[i + 1] = DIGIT_PAIRS[2 * r + 1];
+            value = q;
+        }
+        if (value >= 10) {
+            buf[i - 2] = DIGIT_PAIRS[2 * value];
+            buf[i - 1] = DIGIT_PAIRS[2 * value + 1];
+        } else {
+            buf[i - 1] = (byte) ('0' + value);
+        }
+        return end;
+    }
+
+    static int writeLong(long value, byte[] buf, int pos) {
+        if (value == (int) value) {
+            return writeInt((int) value, buf, pos);
+        }
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                System.arraycopy(LONG_MIN, 0, buf, pos, LONG_MIN.length);
+                return pos + LONG_MIN.length;
+            }
+            buf[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        int i = end;
+        while (value > Integer.MAX_VALUE) {
+            long q = value / 100;
+            int r = (int) (value - q * 100);
+            i -= 2;
+            buf[i] = DIGIT_PAIRS[2 * r];
+            buf[i + 1] = DIGIT_PAIRS[2 * r + 1];
+            value = q;
+        }
+        writeInt((int) value, buf, i - digitCount(value));
+        return end;
+    }
+
+    private static int digitCount(long value) {
+        int n = 1;
+        while (n < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    // --- binary64 ---
+
+    static int writeDouble(double v, byte[] buf, int pos) {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & ((1L << (D_P - 1)) - 1);
+        int bq = (int) (bits >>> (D_P - 1)) & 0x7FF;
+        if (bq == 0x7FF) {
+            return writeAscii(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity", buf, pos);
+        }
+        if (bits < 0) {
+            buf[pos++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -D_Q_MIN + 1 - bq;
+            long c = D_C_MIN | t;
+            if (0 < mq && mq < D_P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return doubleChars(f, 0, buf, pos);
+                }
+            }
+            return doubleDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < D_C_TINY
+                    ? doubleDecimal(D_Q_MIN, 10 * t, -1, buf, pos)
+                    : doubleDecimal(D_Q_MIN, t, 0, buf, pos);
+        }
+        return writeAscii("0.0", buf, pos);
+    }
+
+    private static int doubleDecimal(int q, long c, int dk, byte[] buf, int pos) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != D_C_MIN || q == D_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        long g1 = g1(k);
+        long g0 = g0(k);
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return doubleChars(upin ? sp10 : tp10, k, buf, pos);
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return doubleChars(uin ? s : t, k + dk, buf, pos);
+        }
+        long cmp = vb - (s + t << 1);
+        return doubleChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * Formats {@code f 10^e} like {@code Double.toString}: plain notation for
+     * {@code 10^-3 <= v < 10^7}, computerized scientific notation otherwise.
+     */
+    private static int doubleChars(long f, int e, byte[] buf, int pos) {
+        int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POWERS_OF_TEN[len]) {
+            len += 1;
+        }
+        // Normalize to 10^(H-1) <= f < 10^H, so f 10^e = 0.f 10^(e+len)
+        f *= POWERS_OF_TEN[D_H - len];
+        e += len;
+
+        // Split f into its most significant digit h and two 8-digit groups m and l
+        long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+
+        if (0 < e && e <= 7) {
+            buf[pos++] = (byte) ('0' + h);
+            int y = y(m);
+            int i = 1;
+            for (; i < e; i++) {
+                int t = 10 * y;
+                buf[pos++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            buf[pos++] = '.';
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                buf[pos++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return lowDigits(l, buf, pos);
+        }
+        if (-3 < e && e <= 0) {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (; e < 0; e++) {
+                buf[pos++] = '0';
+            }
+            buf[pos++] = (byte) ('0' + h);
+            pos = eightDigits(m, buf, pos);
+            return lowDigits(l, buf, pos);
+        }
+        buf[pos++] = (byte) ('0' + h);
+        buf[pos++] = '.';
+        pos = eightDigits(m, buf, pos);
+        pos = lowDigits(l, buf, pos);
+        return exponent(e - 1, buf, pos);
+    }
+
+    private static int lowDigits(int l, byte[] buf, int pos) {
+        if (l != 0) {
+            pos = eightDigits(l, buf, pos);
+        }
+        return removeTrailingZeroes(buf, pos);
+    }
+
+    // --- binary32 ---
+
+    static int writeFloat(float v, byte[] buf, int pos) {
+        int bits = Float.floatToRawIntBits(v);
+        int t = bits & ((1 << (F_P - 1)) - 1);
+        int bq = (bits >>> (F_P - 1)) & 0xFF;
+        if (bq == 0xFF) {
+            return writeAscii(t != 0 ? "NaN" : bits > 0 ? "Infinity" : "-Infinity", buf, pos);
+        }
+        if (bits < 0) {
+            buf[pos++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -F_Q_MIN + 1 - bq;
+            int c = F_C_MIN | t;
+            if (0 < mq && mq < F_P) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return floatChars(f, 0, buf, pos);
+                }
+            }
+            return floatDecimal(-mq, c, 0, buf, pos);
+        }
+        if (t != 0) {
+            return t < F_C_TINY
+                    ? floatDecimal(F_Q_MIN, 10 * t, -1, buf, pos)
+                    : floatDecimal(F_Q_MIN, t, 0, buf, pos);
+        }
+        return writeAscii("0.0", buf, pos);
+    }
+
+    private static int floatDecimal(int q, int c, int dk, byte[] buf, int pos) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != F_C_MIN || q == F_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = g1(k) + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return floatChars(upin ? sp10 : tp10, k, buf, pos);
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return floatChars(uin ? s : t, k + dk, buf, pos);
+        }
+        int cmp = vb - (s + t << 1);
+        return floatChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buf, pos);
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    private static int floatChars(int f, int e, byte[] buf, int pos) {
+        int len = flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+        if (f >= POWERS_OF_TEN[len]) {
+            len += 1;
+        }
+        f *= (int) POWERS_OF_TEN[F_H - len];
+        e += len;
+
+        int h = (int) (f * 1_441_151_881L >>> 57);
+        int l = f - 100_000_000 * h;
+
+        if (0 < e && e <= 7) {
+            buf[pos++] = (byte) ('0' + h);
+            int y = y(l);
+            int i = 1;
+            for (; i < e; i++) {
+                int t = 10 * y;
+                buf[pos++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            buf[pos++] = '.';
+            for (; i <= 8; i++) {
+                int t = 10 * y;
+                buf[pos++] = (byte) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return removeTrailingZeroes(buf, pos);
+        }
+        if (-3 < e && e <= 0) {
+            buf[pos++] = '0';
+            buf[pos++] = '.';
+            for (; e < 0; e++) {
+                buf[pos++] = '0';
+            }
+            buf[pos++] = (byte) ('0' + h);
+            pos = eightDigits(l, buf, pos);
+            return removeTrailingZeroes(buf, pos);
+        }
+        buf[pos++] = (byte) ('0' + h);
+        buf[pos++] = '.';
+        pos = eightDigits(l, buf, pos);
+        pos = removeTrailingZeroes(buf, pos);
+        return exponent(e - 1, buf, pos);
+    }
+
+    // --- shared ---
+
+    /**
+     * Writes exactly 8 digits of {@code m < 10^8}, left to right, by fixed-point multiplication.
+     */
+    private static int eightDigits(int m, byte[] buf, int pos) {
+        int y = y(m);
+        for (int i = 0; i < 8; i++) {
+            int t = 10 * y;
+            buf[pos++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return pos;
+    }
+
+    private static int y(int a) {
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int removeTrailingZeroes(byte[] buf, int pos) {
+        while (buf[pos - 1] == '0') {
+            pos--;
+        }
+        // ... but keep the one directly to the right of '.'
+        return buf[pos - 1] == '.' ? pos + 1 : pos;
+    }
+
+    private static int exponent(int e, byte[] buf, int pos) {
+        buf[pos++] = 'E';
+        if (e < 0) {
+            buf[pos++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            buf[pos++] = (byte) ('0' + e);
+            return pos;
+        }
+        if (e >= 100) {
+            int d = e * 1_311 >>> 17;
+            buf[pos++] = (byte) ('0' + d);
+            e -= 100 * d;
+        }
+        buf[pos++] = DIGIT_PAIRS[2 * e];
+        buf[pos++] = DIGIT_PAIRS[2 * e + 1];
+        return pos;
+    }
+
+    private static int writeAscii(String s, byte[] buf, int pos) {
+        for (int i = 0; i < s.length(); i++) {
+            buf[pos++] = (byte) s.charAt(i);
+        }
+        return pos;
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    private static long g1(int k) {
+        return G[(k - K_MIN) << 1];
+    }
+
+    private static long g0(int k) {
+        return G[(k - K_MIN) << 1 | 1];
+    }
+
+    private static long[] gTable() {
+        long[] table = new long[2 * (K_MAX - K_MIN + 1)];
+        BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger n = BigInteger.TEN.pow(-k);
+                int r = n.bitLength() - 126;
+                beta = r > 0 ? n.shiftRight(r) : n.shiftLeft(-r);
+            } else {
+                BigInteger d = BigInteger.TEN.pow(k);
+                beta = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            table[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+            table[(k - K_MIN) << 1 | 1] = g.and(mask63).longValue();
+        }
+        return table;
+    }
+}
@@ -0,0 +1,150 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Push parser for input that arrives in chunks, such as reads from a non-blocking channel. Each
+ * {@link #feed(ByteBuffer) fed} chunk is scanned once to frame complete top-level values, keeping
+ * nesting depth and string and escape state between calls, so a chunk may end anywhere, including
+ * inside a string, number, escape sequence or multi-byte character. Every complete value is decoded
+ * and handed to the consumer before {@code feed} returns. Only the bytes of the value still being
+ * framed are retained.
+ * <p>
+ * The input is a sequence of values separated by optional whitespace: a single document, JSON Lines
+ * or concatenated JSON. Values are validated when they are decoded. If one fails, the exception
+ * propagates and that value is dropped; feeding can continue with the next one.
+ */
+public final class JsonFeeder<T> {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final Function<JsonReader, T> decoder;
+    private final Consumer<? super T> consumer;
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int start; // first byte of the value being framed; nothing before it is retained
+    private int pos;
+    private int limit;
+    private long offset; // input position of buf[0]
+    private boolean inValue;
+    private boolean inString;
+    private boolean escaped;
+    private int depth;
+
+    public JsonFeeder(Function<JsonReader, T> decoder, Consumer<? super T> consumer) {
+        this.decoder = decoder;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Consumes all remaining bytes of {@code chunk} and delivers every value they complete.
+     */
+    public void feed(ByteBuffer chunk) {
+        int length = chunk.remaining();
+        ensureCapacity(length);
+        chunk.get(buf, limit, length);
+        limit += length;
+        scan();
+    }
+
+    /**
+     * Signals the end of input, delivering a trailing top-level scalar that had no delimiter.
+     * Fails if a value is incomplete.
+     */
+    public void end() {
+        scan();
+        if (inValue) {
+            if (depth > 0 || inString) {
+                throw new JsonException("Unterminated JSON value at position " + (offset + start));
+            }
+            deliver(pos);
+        }
+    }
+
+    /**
+     * Advances {@link #pos} to {@link #limit}, delivering each value as soon as its last byte is seen.
+     * A top-level scalar ends at the whitespace after it.
+     */
+    private void scan() {
+        while (pos < limit) {
+            byte b = buf[pos];
+            if (!inValue) {
+                if (b == ' ' || b == '\t' || b == '\n' || b == '\r') {
+                    start = ++pos;
+                    continue;
+                }
+                inValue = true;
+                start = pos;
+            }
+            pos++;
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        deliver(pos);
+                    }
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    // An unbalanced bracket is delivered as is and rejected by the decoder
+                    if (depth <= 1) {
+                        depth = 0;
+                        deliver(pos);
+                    } else {
+                        depth--;
+                    }
+                }
+                case ' ', '\t', '\n', '\r' -> {
+                    if (depth == 0) {
+                        deliver(pos - 1);
+                    }
+                }
+                default -> {}
+            }
+        }
+    }
+
+    private void deliver(int end) {
+        int from = start;
+        inValue = false;
+        start = pos;
+        T value;
+        try {
+            var reader = new JsonReader(buf, from, end - from);
+            value = decoder.apply(reader);
+            reader.endDocument();
+        } catch (JsonException e) {
+            throw new JsonException("Invalid JSON value at position " + (offset + from) + ": " + e.getMessage(), e);
+        }
+        consumer.accept(value);
+    }
+
+    /**
+     * Makes room for {@code length} more bytes after {@link #limit}, first dropping everything
+     * before {@link #start} and growing the buffer only when the value being framed needs it.
+     */
+    private void ensureCapacity(int length) {
+        if (start > 0) {
+            System.arraycopy(buf, start, buf, 0, limit - start);
+            offset += start;
+            pos -= start;
+            limit -= start;
+            start = 0;
+        }
+        if (length > buf.length - limit) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, limit + length));
+        }
+    }
+}
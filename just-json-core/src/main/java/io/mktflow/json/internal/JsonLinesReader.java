@@ -0,0 +1,195 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Reads newline-delimited JSON (NDJSON / JSON Lines). The input is cut into chunks of whole lines
+ * on the calling thread and each chunk is decoded on the common fork-join pool, with a bounded
+ * number of chunks in flight. Results are returned in input order, or in completion order when
+ * ordering is not needed. Blank lines are skipped. Closing the reader closes the stream.
+ */
+public final class JsonLinesReader<T> implements Iterator<T>, AutoCloseable {
+
+    private static final int CHUNK = 1 << 20;
+
+    private final InputStream in;
+    private final Function<JsonReader, T> decoder;
+    private final boolean ordered;
+    private final int maxInFlight = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+
+    /** Chunks in submission order (ordered) and results in completion order (unordered). */
+    private final ArrayDeque<CompletableFuture<List<T>>> pending = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<List<T>>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+
+    private byte[] carry = new byte[0]; // start of a line that continues in the next chunk
+    private long offset; // input position of the next chunk
+    private boolean eof;
+    private Iterator<T> current = Collections.emptyIterator();
+
+    public JsonLinesReader(InputStream in, Function<JsonReader, T> decoder, boolean ordered) {
+        this.in = in;
+        this.decoder = decoder;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            while (!eof && inFlight < maxInFlight) {
+                submitNextChunk();
+            }
+            if (inFlight == 0) {
+                return false;
+            }
+            current = take().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        eof = true;
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        inFlight = 0;
+        current = Collections.emptyIterator();
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<T> take() {
+        CompletableFuture<List<T>> future;
+        try {
+            future = ordered ? pending.removeFirst() : completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JsonException("Interrupted while decoding JSON lines", e);
+        }
+        if (!ordered) {
+            pending.remove(future);
+        }
+        inFlight--;
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads up to {@link #CHUNK} bytes, cuts them after the last newline and submits the complete
+     * lines for decoding. A single line longer than a chunk grows the buffer until it fits.
+     */
+    private void submitNextChunk() {
+        byte[] chunk = Arrays.copyOf(carry, carry.length + CHUNK);
+        int length = carry.length;
+        int searched = length; // the carried bytes hold no newline
+        int cut = -1;
+        try {
+            while (cut < 0) {
+                int n = in.read(chunk, length, chunk.length - length);
+                if (n < 0) {
+                    eof = true;
+                    break;
+                }
+                length += n;
+                if (length == chunk.length) {
+                    cut = lastNewline(chunk, searched, length);
+                    if (cut < 0) {
+                        searched = length;
+                        chunk = Arrays.copyOf(chunk, chunk.length * 2);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int end = eof ? length : cut + 1;
+        carry = Arrays.copyOfRange(chunk, end, length);
+        if (end == 0) {
+            return;
+        }
+        long chunkOffset = offset;
+        offset += end;
+        byte[] lines = chunk;
+        CompletableFuture<List<T>> future = CompletableFuture.supplyAsync(() -> decode(lines, end, chunkOffset), ForkJoinPool.commonPool());
+        pending.addLast(future);
+        inFlight++;
+        if (!ordered) {
+            future.whenComplete((result, failure) -> completed.add(future));
+        }
+    }
+
+    private static int lastNewline(byte[] bytes, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<T> decode(byte[] chunk, int length, long chunkOffset) {
+        var results = new ArrayList<T>();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && chunk[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            if (!isBlank(chunk, lineStart, lineEnd)) {
+                try {
+                    var reader = new JsonReader(chunk, lineStart, lineEnd - lineStart);
+                    results.add(decoder.apply(reader));
+                    reader.endDocument();
+                } catch (JsonException e) {
+                    throw new JsonException("Invalid JSON line at offset " + (chunkOffset + lineStart) + ": " + e.getMessage(), e);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return results;
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package io.mktflow.json.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a scanned decimal {@code w * 10^q} (at most 19 significant digits) to the nearest
+ * double or float without going through a String: Clinger's exact fast path for small
+ * operands, otherwise the Eisel–Lemire algorithm over a table of 128-bit truncated powers of five.
+ */
+final class JsonNumbers {
+
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+
+    /** Truncated 128-bit 5^q for q in [-342, 308], as (high, low) pairs. */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private JsonNumbers() {}
+
+    static double toDouble(boolean negative, long w, int q) {
+        if (w >= 0 && w <= 1L << 53 && q >= -22 && q <= 22) {
+            double d = (double) w;
+            d = q < 0 ? d / DOUBLE_POWERS_OF_TEN[-q] : d * DOUBLE_POWERS_OF_TEN[q];
+            return negative ? -d : d;
+        }
+        long bits = eiselLemire(w, q, 52, -1023, 0x7FF, -342, 308, -4, 23);
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    static float toFloat(boolean negative, long w, int q) {
+        if (w >= 0 && w <= 1L << 24 && q >= -10 && q <= 10) {
+            float f = (float) w;
+            f = q < 0 ? f / FLOAT_POWERS_OF_TEN[-q] : f * FLOAT_POWERS_OF_TEN[q];
+            return negative ? -f : f;
+        }
+        int bits = (int) eiselLemire(w, q, 23, -127, 0xFF, -65, 38, -17, 10);
+        return Float.intBitsToFloat(negative ? bits | Integer.MIN_VALUE : bits);
+    }
+
+    /**
+     * Returns the unsigned IEEE bit pattern nearest to {@code w * 10^q} (w treated as unsigned),
+     * for a format with the given explicit mantissa bits and exponent bias.
+     */
+    private static long eiselLemire(long w, int q, int mantissaBits, int minimumExponent, int infinitePower,
+                                    int smallestPowerOfTen, int largestPowerOfTen,
+                                    int minRoundToEven, int maxRoundToEven) {
+        if (w == 0 || q < smallestPowerOfTen) {
+            return 0;
+        }
+        if (q > largestPowerOfTen) {
+            return (long) infinitePower << mantissaBits;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // 128-bit product of w and 5^q, refined with the second table word only when the
+        // bits that decide rounding are all ones in the first approximation
+        int index = 2 * (q - SMALLEST_POWER_OF_FIVE);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (mantissaBits + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz - minimumExponent;
+
+        if (power2 <= 0) {
+            // Subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << mantissaBits) ? 0 : 1;
+            return mantissa | ((long) power2 << mantissaBits);
+        }
+
+        // Exactly halfway between two values: round to even instead of up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= minRoundToEven && q <= maxRoundToEven
+                && (mantissa & 3) == 1 && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << mantissaBits)) {
+            mantissa = 1L << mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << mantissaBits);
+        if (power2 >= infinitePower) {
+            return (long) infinitePower << mantissaBits;
+        }
+        return mantissa | ((long) power2 << mantissaBits);
+    }
+
+    private static long[] powersOfFive() {
+        long[] table = new long[2 * (LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1)];
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        int i = 0;
+        for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+            BigInteger value;
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength(); // smallest z with 2^z >= 5^-q
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            } else {
+                value = BigInteger.valueOf(5).pow(q);
+                int bits = value.bitLength();
+                value = bits < 128 ? value.shiftLeft(128 - bits) : value.shiftRight(bits - 128);
+            }
+            table[i++] = value.shiftRight(64).longValue();
+            table[i++] = value.longValue();
+        }
+        return table;
+    }
+}
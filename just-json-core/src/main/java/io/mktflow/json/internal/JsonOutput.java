@@ -0,0 +1,361 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * Byte-level sink for UTF-8 encoded JSON. Output is encoded into a single reusable buffer
+ * that is either grown (in-memory output) or drained to a stream, channel or caller-supplied
+ * {@link ByteBuffer}s or {@link MemorySegment}s when full.
+ * I/O failures while draining are reported as {@link UncheckedIOException}.
+ * The buffer is borrowed from {@link BufferPool#BYTES}; call {@link #release()} when done.
+ */
+public final class JsonOutput {
+
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private byte[] buf;
+    private final boolean pooled; // buf came from the pool and goes back to it
+    private int count;
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private ByteBuffer target;
+    private final UnaryOperator<ByteBuffer> onFull;
+    private MemorySegment segment;
+    private long segmentOffset;
+    private final UnaryOperator<MemorySegment> onSegmentFull;
+
+    public JsonOutput() {
+        this((OutputStream) null, null);
+    }
+
+    public JsonOutput(OutputStream stream) {
+        this(stream, null);
+    }
+
+    public JsonOutput(WritableByteChannel channel) {
+        this(null, channel);
+    }
+
+    /**
+     * Drains to {@code stream} in writes of up to {@code capacity} bytes, for bulk output where
+     * fewer, larger writes pay off. A capacity above the pooled size allocates a fresh buffer, which
+     * is left to the GC rather than released into the pool, where it would pin that much memory.
+     */
+    public JsonOutput(OutputStream stream, int capacity) {
+        this.pooled = capacity <= DEFAULT_CAPACITY;
+        this.buf = pooled ? BufferPool.BYTES.acquire() : new byte[capacity];
+        this.stream = stream;
+        this.channel = null;
+        this.onFull = null;
+        this.onSegmentFull = null;
+    }
+
+    /**
+     * Drains into {@code target} from its position. Bytes are still encoded into the pooled heap
+     * buffer and copied into {@code target} in bulk whenever that buffer fills, and on
+     * {@link #flush()}. When {@code target} has no space left it is passed to {@code onFull}, which
+     * returns the next buffer to fill, so the output may span several (typically pooled, direct)
+     * buffers.
+     */
+    public JsonOutput(ByteBuffer target, UnaryOperator<ByteBuffer> onFull) {
+        this.buf = BufferPool.BYTES.acquire();
+        this.pooled = true;
+        this.stream = null;
+        this.channel = null;
+        this.target = target;
+        this.onFull = onFull;
+        this.onSegmentFull = null;
+    }
+
+    /**
+     * Segment counterpart of {@link #JsonOutput(ByteBuffer, UnaryOperator)}, draining into
+     * {@code target} from offset 0. Offsets are {@code long}, so segments of any size and any
+     * kind, native, mapped or heap, can be written.
+     */
+    public JsonOutput(MemorySegment target, UnaryOperator<MemorySegment> onFull) {
+        this.buf = BufferPool.BYTES.acquire();
+        this.pooled = true;
+        this.stream = null;
+        this.channel = null;
+        this.onFull = null;
+        this.segment = target;
+        this.onSegmentFull = onFull;
+    }
+
+    private JsonOutput(OutputStream stream, WritableByteChannel channel) {
+        this.buf = BufferPool.BYTES.acquire();
+        this.pooled = true;
+        this.stream = stream;
+        this.channel = channel;
+        this.onFull = null;
+        this.onSegmentFull = null;
+    }
+
+    public void writeByte(int b) {
+        if (count == buf.length) {
+            makeRoom(1);
+        }
+        buf[count++] = (byte) b;
+    }
+
+    public void writeBytes(byte[] bytes) {
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        if (length > buf.length - count) {
+            if (hasTarget() && length > buf.length) {
+                // Larger than the whole buffer: hand it to the target directly
+                drain();
+                write(bytes, offset, length);
+                return;
+            }
+            makeRoom(length);
+        }
+        System.arraycopy(bytes, offset, buf, count, length);
+        count += length;
+    }
+
+    /**
+     * Writes a string known to contain only ASCII characters, such as a number or literal.
+     */
+    public void writeAscii(String s) {
+        int length = s.length();
+        if (length > buf.length - count) {
+            makeRoom(length);
+        }
+        for (int i = 0; i < length; i++) {
+            buf[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    public void writeInt(int value) {
+        if (buf.length - count < JsonDigits.MAX_LENGTH) {
+            makeRoom(JsonDigits.MAX_LENGTH);
+        }
+        count = JsonDigits.writeInt(value, buf, count);
+    }
+
+    public void writeLong(long value) {
+        if (buf.length - count < JsonDigits.MAX_LENGTH) {
+            makeRoom(JsonDigits.MAX_LENGTH);
+        }
+        count = JsonDigits.writeLong(value, buf, count);
+    }
+
+    /**
+     * Writes the same characters as {@link Double#toString(double)}, without creating a String.
+     */
+    public void writeDouble(double value) {
+        if (buf.length - count < JsonDigits.MAX_LENGTH) {
+            makeRoom(JsonDigits.MAX_LENGTH);
+        }
+        count = JsonDigits.writeDouble(value, buf, count);
+    }
+
+    /**
+     * Writes the same characters as {@link Float#toString(float)}, without creating a String.
+     */
+    public void writeFloat(float value) {
+        if (buf.length - count < JsonDigits.MAX_LENGTH) {
+            makeRoom(JsonDigits.MAX_LENGTH);
+        }
+        count = JsonDigits.writeFloat(value, buf, count);
+    }
+
+    /**
+     * Copies the longest prefix of {@code s[from, to)} made of ASCII characters that need no
+     * JSON escaping, and returns the index of the first character not copied.
+     */
+    public int writeUnescapedAscii(String s, int from, int to) {
+        int i = from;
+        while (i < to) {
+            if (count == buf.length) {
+                makeRoom(1);
+            }
+            byte[] b = buf;
+            int n = count;
+            int limit = Math.min(to, i + b.length - n);
+            for (; i < limit; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80 || JsonWriter.ESCAPES[c] != null) {
+                    count = n;
+                    return i;
+                }
+                b[n++] = (byte) c;
+            }
+            count = n;
+        }
+        return i;
+    }
+
+    /**
+     * UTF-8 encodes {@code s[from, to)} without any JSON escaping.
+     * Unpaired surrogates are written as {@code '?'}, as {@link String#getBytes} does.
+     */
+    public void writeUtf8(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (buf.length - count < 4) {
+                makeRoom(4);
+            }
+            if (c < 0x80) {
+                buf[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | (c >> 6));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[count++] = (byte) (0xF0 | (cp >> 18));
+                    buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[count++] = '?';
+                }
+            } else {
+                buf[count++] = (byte) (0xE0 | (c >> 12));
+                buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Drains buffered bytes to the stream or channel and flushes the stream.
+     * Has no effect on in-memory output.
+     */
+    public void flush() {
+        drain();
+        if (stream != null) {
+            try {
+                stream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the buffer that the most recently drained bytes went into, or {@code null} unless
+     * this output drains to buffers. Call {@link #flush()} first.
+     */
+    public ByteBuffer target() {
+        return target;
+    }
+
+    /**
+     * Returns the offset just past the bytes drained into the current segment of output created
+     * with {@link #JsonOutput(MemorySegment, UnaryOperator)}. Call {@link #flush()} first.
+     */
+    public long segmentOffset() {
+        return segmentOffset;
+    }
+
+    /**
+     * Returns a copy of the bytes written to in-memory output.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * Returns a pooled buffer to the pool. The output must not be used afterwards.
+     */
+    public void release() {
+        byte[] released = buf;
+        buf = null;
+        if (released != null && pooled) {
+            BufferPool.BYTES.release(released);
+        }
+    }
+
+    private boolean hasTarget() {
+        return stream != null || channel != null || target != null || segment != null;
+    }
+
+    private void makeRoom(int needed) {
+        if (hasTarget()) {
+            drain();
+            if (needed <= buf.length) {
+                return;
+            }
+        }
+        byte[] old = buf;
+        buf = Arrays.copyOf(old, Math.max(old.length * 2, count + needed));
+        if (pooled) {
+            BufferPool.BYTES.release(old);
+        }
+    }
+
+    private void drain() {
+        if (count > 0 && hasTarget()) {
+            write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) {
+        try {
+            if (stream != null) {
+                stream.write(bytes, offset, length);
+            } else if (target != null) {
+                put(bytes, offset, length);
+            } else if (segment != null) {
+                putSegment(bytes, offset, length);
+            } else {
+                var buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void put(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (!target.hasRemaining()) {
+                ByteBuffer next = onFull.apply(target);
+                if (next == null || !next.hasRemaining()) {
+                    throw new JsonException("Output buffer supplier returned no space to write into");
+                }
+                target = next;
+            }
+            int n = Math.min(length, target.remaining());
+            target.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    private void putSegment(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            if (segmentOffset == segment.byteSize()) {
+                MemorySegment next = onSegmentFull.apply(segment);
+                if (next == null || next.byteSize() == 0) {
+                    throw new JsonException("Output segment supplier returned no space to write into");
+                }
+                segment = next;
+                segmentOffset = 0;
+            }
+            int n = (int) Math.min(length, segment.byteSize() - segmentOffset);
+            MemorySegment.copy(bytes, offset, segment, ValueLayout.JAVA_BYTE, segmentOffset, n);
+            segmentOffset += n;
+            offset += n;
+            length -= n;
+        }
+    }
+}
@@ -4,99 +4,77 @@ import io.mktflow.json.JsonException;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 
+/**
+ * Builds a {@link JsonValue} tree. When the tree is kept, keys and short string values can be
+ * canonicalized, so a large array of similar objects shares one instance of each key rather than
+ * one copy per object.
+ */
 public final class JsonParser {
 
-    private final List<JsonToken> tokens;
-    private int pos;
+    private final JsonReader reader;
 
-    public JsonParser(List<JsonToken> tokens) {
-        this.tokens = tokens;
-        this.pos = 0;
+    public JsonParser(JsonReader reader) {
+        this(reader, false);
+    }
+
+    /**
+     * With {@code canonicalize}, strings are read through the reader's string cache. It pays off
+     * only for trees that are retained, so transient trees (bound right away) skip it.
+     */
+    public JsonParser(JsonReader reader, boolean canonicalize) {
+        this.reader = reader;
+        if (canonicalize) {
+            reader.canonicalizeStrings();
+        }
     }
 
     public static JsonValue parse(String json) {
         if (json == null || json.isBlank()) {
             throw new JsonException("Input JSON string is null or empty");
         }
-        var tokenizer = new JsonTokenizer(json);
-        var tokens = tokenizer.tokenize();
-        var parser = new JsonParser(tokens);
-        JsonValue value = parser.parseValue();
-        if (parser.current().type() != JsonToken.Type.EOF) {
-            throw new JsonException("Unexpected token after end of JSON: " + parser.current());
-        }
+        var reader = new JsonReader(json);
+        JsonValue value = new JsonParser(reader, true).parseValue();
+        reader.endDocument();
         return value;
     }
 
-    private JsonToken current() {
-        return tokens.get(pos);
-    }
-
-    private JsonToken advance() {
-        JsonToken token = tokens.get(pos);
-        pos++;
-        return token;
-    }
-
-    private JsonToken expect(JsonToken.Type type) {
-        JsonToken token = advance();
-        if (token.type() != type) {
-            throw new JsonException("Expected " + type + " but got " + token.type() + " at position " + token.position());
-        }
-        return token;
-    }
-
-    private JsonValue parseValue() {
-        return switch (current().type()) {
+    public JsonValue parseValue() {
+        JsonToken.Type type = reader.peek();
+        return switch (type) {
             case LEFT_BRACE -> parseObject();
             case LEFT_BRACKET -> parseArray();
-            case STRING -> new JsonValue.JsonString(advance().value());
-            case NUMBER -> new JsonValue.JsonNumber(advance().value());
-            case TRUE -> { advance(); yield new JsonValue.JsonBoolean(true); }
-            case FALSE -> { advance(); yield new JsonValue.JsonBoolean(false); }
-            case NULL -> { advance(); yield new JsonValue.JsonNull(); }
-            default -> throw new JsonException("Unexpected token " + current().type() + " at position " + current().position());
+            case STRING -> new JsonValue.JsonString(reader.readString());
+            case NUMBER -> new JsonValue.JsonNumber(reader.readNumber());
+            case TRUE, FALSE -> new JsonValue.JsonBoolean(reader.readBoolean());
+            case NULL -> { reader.readNull(); yield new JsonValue.JsonNull(); }
+            default -> throw new JsonException("Unexpected token " + type + " at position " + reader.position());
         };
     }
 
     private JsonValue.JsonObject parseObject() {
-        advance(); // skip {
+        reader.beginObject();
         var members = new LinkedHashMap<String, JsonValue>();
-        if (current().type() == JsonToken.Type.RIGHT_BRACE) {
-            advance();
-            return new JsonValue.JsonObject(members);
-        }
-        parseObjectMember(members);
-        while (current().type() == JsonToken.Type.COMMA) {
-            advance(); // skip ,
+        while (reader.hasNext()) {
             parseObjectMember(members);
         }
-        expect(JsonToken.Type.RIGHT_BRACE);
+        reader.endObject();
         return new JsonValue.JsonObject(members);
     }
 
     private void parseObjectMember(LinkedHashMap<String, JsonValue> members) {
-        String key = expect(JsonToken.Type.STRING).value();
-        expect(JsonToken.Type.COLON);
+        String key = reader.nextName();
         JsonValue value = parseValue();
         members.put(key, value);
     }
 
     private JsonValue.JsonArray parseArray() {
-        advance(); // skip [
+        reader.beginArray();
         var elements = new ArrayList<JsonValue>();
-        if (current().type() == JsonToken.Type.RIGHT_BRACKET) {
-            advance();
-            return new JsonValue.JsonArray(elements);
-        }
-        elements.add(parseValue());
-        while (current().type() == JsonToken.Type.COMMA) {
-            advance(); // skip ,
+        while (reader.hasNext()) {
             elements.add(parseValue());
         }
-        expect(JsonToken.Type.RIGHT_BRACKET);
+        reader.endArray();
         return new JsonValue.JsonArray(elements);
     }
 }
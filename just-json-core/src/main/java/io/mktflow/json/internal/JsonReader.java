@@ -0,0 +1,316 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pull-style cursor over a JSON document. Values are tokenized as they are consumed;
+ * commas are handled by {@link #hasNext()} and colons by {@link #nextName()}.
+ */
+public final class JsonReader {
+
+    private final JsonTokenizer tokenizer;
+    private boolean needsComma;
+
+    public JsonReader(String json) {
+        this(JsonTokenizer.of(json));
+    }
+
+    public JsonReader(byte[] json, int offset, int length) {
+        this(JsonTokenizer.of(json, offset, length));
+    }
+
+    public JsonReader(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+    }
+
+    /**
+     * Returns shared String instances for repeated object keys and short string values
+     * (at most 32 characters, no escapes) for the rest of this document.
+     */
+    public void canonicalizeStrings() {
+        tokenizer.canonicalizeStrings();
+    }
+
+    public JsonToken.Type peek() {
+        return tokenizer.peek();
+    }
+
+    public long position() {
+        return tokenizer.position();
+    }
+
+    public void beginObject() {
+        tokenizer.expect(JsonToken.Type.LEFT_BRACE);
+        needsComma = false;
+    }
+
+    public void endObject() {
+        tokenizer.expect(JsonToken.Type.RIGHT_BRACE);
+        needsComma = true;
+    }
+
+    public void beginArray() {
+        tokenizer.expect(JsonToken.Type.LEFT_BRACKET);
+        needsComma = false;
+    }
+
+    public void endArray() {
+        tokenizer.expect(JsonToken.Type.RIGHT_BRACKET);
+        needsComma = true;
+    }
+
+    /**
+     * Returns true if the current object or array has another member or element,
+     * consuming the separating comma if there is one.
+     */
+    public boolean hasNext() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type == JsonToken.Type.RIGHT_BRACE || type == JsonToken.Type.RIGHT_BRACKET) {
+            return false;
+        }
+        if (needsComma) {
+            tokenizer.expect(JsonToken.Type.COMMA);
+            needsComma = false;
+        }
+        return true;
+    }
+
+    public String nextName() {
+        expectName();
+        String name = tokenizer.readString();
+        tokenizer.expect(JsonToken.Type.COLON);
+        return name;
+    }
+
+    /**
+     * Consumes the next member name and its colon if the name equals {@code name}.
+     * Names without escapes are compared in the input buffer, without allocating.
+     */
+    public boolean nextNameIs(String name) {
+        expectName();
+        if (!tokenizer.matchString(name)) {
+            return false;
+        }
+        tokenizer.expect(JsonToken.Type.COLON);
+        return true;
+    }
+
+    /**
+     * Consumes the next member name and its colon without decoding the name.
+     */
+    public void skipName() {
+        expectName();
+        tokenizer.skipString();
+        tokenizer.expect(JsonToken.Type.COLON);
+    }
+
+    /**
+     * Returns the UTF-8 length of the next member name, or -1 if it contains escapes.
+     */
+    public int nameLength() {
+        expectName();
+        return tokenizer.nameLength();
+    }
+
+    /**
+     * Returns the first UTF-8 byte of the next member name, or -1 if it is empty.
+     */
+    public int nameLeadByte() {
+        expectName();
+        return tokenizer.nameLeadByte();
+    }
+
+    private void expectName() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type != JsonToken.Type.STRING) {
+            throw new JsonException("Expected STRING but got " + type + " at position " + tokenizer.position());
+        }
+    }
+
+    public String readString() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type == JsonToken.Type.STRING) {
+            String value = tokenizer.readString();
+            needsComma = true;
+            return value;
+        }
+        if (type == JsonToken.Type.NULL) {
+            tokenizer.expect(JsonToken.Type.NULL);
+            needsComma = true;
+            return null;
+        }
+        throw unexpected("string", type);
+    }
+
+    /**
+     * Reads a number and returns its source text.
+     */
+    public String readNumber() {
+        expectNumber();
+        String value = tokenizer.readNumber();
+        needsComma = true;
+        return value;
+    }
+
+    public int readInt() {
+        long position = tokenizer.position();
+        long value = readLong();
+        if (value != (int) value) {
+            throw new JsonException("Number out of range for int: " + value + " at position " + position);
+        }
+        return (int) value;
+    }
+
+    public long readLong() {
+        expectNumber();
+        long value = tokenizer.readLong();
+        needsComma = true;
+        return value;
+    }
+
+    public double readDouble() {
+        expectNumber();
+        double value = tokenizer.readDouble();
+        needsComma = true;
+        return value;
+    }
+
+    public float readFloat() {
+        expectNumber();
+        float value = tokenizer.readFloat();
+        needsComma = true;
+        return value;
+    }
+
+    private void expectNumber() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type != JsonToken.Type.NUMBER) {
+            throw unexpected("number", type);
+        }
+    }
+
+    public boolean readBoolean() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type != JsonToken.Type.TRUE && type != JsonToken.Type.FALSE) {
+            throw unexpected("boolean", type);
+        }
+        tokenizer.expect(type);
+        needsComma = true;
+        return type == JsonToken.Type.TRUE;
+    }
+
+    public Integer readIntegerBoxed() {
+        return readNull() ? null : readInt();
+    }
+
+    public Long readLongBoxed() {
+        return readNull() ? null : readLong();
+    }
+
+    public Double readDoubleBoxed() {
+        return readNull() ? null : readDouble();
+    }
+
+    public Float readFloatBoxed() {
+        return readNull() ? null : readFloat();
+    }
+
+    public Boolean readBooleanBoxed() {
+        return readNull() ? null : readBoolean();
+    }
+
+    public BigDecimal readBigDecimal() {
+        return readNull() ? null : new BigDecimal(readNumber());
+    }
+
+    public BigInteger readBigInteger() {
+        return readNull() ? null : new BigInteger(readNumber());
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> enumClass) {
+        String value = readString();
+        return value == null ? null : Enum.valueOf(enumClass, value);
+    }
+
+    public <E extends Enum<E>> E readEnum(Map<String, E> lookup) {
+        String value = readString();
+        if (value == null) {
+            return null;
+        }
+        E result = lookup.get(value);
+        if (result == null) {
+            throw new JsonException("Unknown enum value: " + value);
+        }
+        return result;
+    }
+
+    public <T> List<T> readList(Function<JsonReader, T> elementReader) {
+        if (readNull()) {
+            return null;
+        }
+        var result = new ArrayList<T>();
+        beginArray();
+        while (hasNext()) {
+            result.add(elementReader.apply(this));
+        }
+        endArray();
+        return result;
+    }
+
+    public <V> Map<String, V> readMap(Function<JsonReader, V> valueReader) {
+        if (readNull()) {
+            return null;
+        }
+        var result = new LinkedHashMap<String, V>();
+        beginObject();
+        while (hasNext()) {
+            String key = nextName();
+            result.put(key, valueReader.apply(this));
+        }
+        endObject();
+        return result;
+    }
+
+    /**
+     * Consumes a {@code null} literal if it is the next token.
+     */
+    public boolean readNull() {
+        if (tokenizer.peek() != JsonToken.Type.NULL) {
+            return false;
+        }
+        tokenizer.expect(JsonToken.Type.NULL);
+        needsComma = true;
+        return true;
+    }
+
+    /**
+     * Skips the next value without allocating. Objects and arrays are skipped by tracking nesting
+     * depth and string state, so their contents are not validated.
+     */
+    public void skipValue() {
+        tokenizer.skipValue();
+        needsComma = true;
+    }
+
+    /**
+     * Verifies that nothing but whitespace follows the value that was just read.
+     */
+    public void endDocument() {
+        JsonToken.Type type = tokenizer.peek();
+        if (type != JsonToken.Type.EOF) {
+            throw new JsonException("Unexpected token after end of JSON: " + type + " at position " + tokenizer.position());
+        }
+    }
+
+    private JsonException unexpected(String expected, JsonToken.Type actual) {
+        return new JsonException("Expected JSON " + expected + " but got " + actual + " at position " + tokenizer.position());
+    }
+}
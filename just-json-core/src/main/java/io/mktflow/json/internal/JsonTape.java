@@ -0,0 +1,359 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Lazily materialized {@link JsonValue} tree. One validating pass records every value as a
+ * {@code long} on a tape: its type in the top byte and its offset in the input below. Objects
+ * and arrays take a second word holding their member count and the tape index just past their
+ * last descendant, so whole subtrees are skipped in one step.
+ * <p>
+ * Objects and arrays are returned as {@link JsonValue.JsonObject} and {@link JsonValue.JsonArray}
+ * over read-only views of the tape; strings, numbers and child containers are decoded from the
+ * input each time they are accessed. Views keep the input alive and are safe to share between
+ * threads.
+ */
+public final class JsonTape {
+
+    private static final int STRING = 1;
+    private static final int NUMBER = 2;
+    private static final int TRUE = 3;
+    private static final int FALSE = 4;
+    private static final int NULL = 5;
+    private static final int OBJECT = 6;
+    private static final int ARRAY = 7;
+
+    private final String text;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private long[] tape;
+    private int size;
+
+    private JsonTape(String text, byte[] bytes, int offset, int length) {
+        this.text = text;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.tape = new long[16 + length / 32];
+    }
+
+    public static JsonValue parse(String json) {
+        if (json == null || json.isBlank()) {
+            throw new JsonException("Input JSON string is null or empty");
+        }
+        var tape = new JsonTape(json, null, 0, json.length());
+        tape.build(JsonTokenizer.of(json));
+        return tape.value(0);
+    }
+
+    public static JsonValue parse(byte[] json, int offset, int length) {
+        if (json == null || length == 0) {
+            throw new JsonException("Input JSON is null or empty");
+        }
+        var tape = new JsonTape(null, json, offset, length);
+        tape.build(JsonTokenizer.of(json, offset, length));
+        return tape.value(0);
+    }
+
+    // --- Building ---
+
+    private void build(JsonTokenizer tokenizer) {
+        record(tokenizer);
+        JsonToken.Type type = tokenizer.peek();
+        if (type != JsonToken.Type.EOF) {
+            throw new JsonException("Unexpected token after end of JSON: " + type + " at position " + tokenizer.position());
+        }
+    }
+
+    private void record(JsonTokenizer tokenizer) {
+        JsonToken.Type type = tokenizer.peek();
+        int position = (int) tokenizer.position(); // String and byte[] input, so it fits
+        switch (type) {
+            case LEFT_BRACE -> recordContainer(tokenizer, OBJECT, position);
+            case LEFT_BRACKET -> recordContainer(tokenizer, ARRAY, position);
+            case STRING -> {
+                add(STRING, position);
+                tokenizer.skipString();
+            }
+            case NUMBER -> {
+                add(NUMBER, position);
+                tokenizer.skipNumber();
+            }
+            case TRUE -> {
+                add(TRUE, position);
+                tokenizer.expect(type);
+            }
+            case FALSE -> {
+                add(FALSE, position);
+                tokenizer.expect(type);
+            }
+            case NULL -> {
+                add(NULL, position);
+                tokenizer.expect(type);
+            }
+            default -> throw new JsonException("Unexpected token " + type + " at position " + position);
+        }
+    }
+
+    private void recordContainer(JsonTokenizer tokenizer, int kind, int position) {
+        JsonToken.Type close = kind == OBJECT ? JsonToken.Type.RIGHT_BRACE : JsonToken.Type.RIGHT_BRACKET;
+        int at = size;
+        add(kind, position);
+        add(0, 0);
+        tokenizer.expect(kind == OBJECT ? JsonToken.Type.LEFT_BRACE : JsonToken.Type.LEFT_BRACKET);
+        int count = 0;
+        if (tokenizer.peek() != close) {
+            while (true) {
+                if (kind == OBJECT) {
+                    JsonToken.Type type = tokenizer.peek();
+                    if (type != JsonToken.Type.STRING) {
+                        throw new JsonException("Expected STRING but got " + type + " at position " + tokenizer.position());
+                    }
+                    add(STRING, (int) tokenizer.position());
+                    tokenizer.skipString();
+                    tokenizer.expect(JsonToken.Type.COLON);
+                }
+                record(tokenizer);
+                count++;
+                if (tokenizer.peek() != JsonToken.Type.COMMA) {
+                    break;
+                }
+                tokenizer.expect(JsonToken.Type.COMMA);
+            }
+        }
+        tokenizer.expect(close);
+        tape[at + 1] = (long) count << 32 | size;
+    }
+
+    private void add(int type, int position) {
+        if (size == tape.length) {
+            tape = Arrays.copyOf(tape, size * 2);
+        }
+        tape[size++] = (long) type << 56 | position;
+    }
+
+    // --- Access ---
+
+    private int type(int index) {
+        return (int) (tape[index] >>> 56);
+    }
+
+    private int position(int index) {
+        return (int) tape[index];
+    }
+
+    private int count(int index) {
+        return (int) (tape[index + 1] >>> 32);
+    }
+
+    /**
+     * Returns the tape index of the value following the one at {@code index}.
+     */
+    private int next(int index) {
+        int type = type(index);
+        return type == OBJECT || type == ARRAY ? (int) tape[index + 1] : index + 1;
+    }
+
+    /**
+     * Returns a fresh tokenizer over the input, so concurrent readers never share a cursor.
+     */
+    private JsonTokenizer tokenizerAt(int index) {
+        JsonTokenizer tokenizer = text != null
+                ? new CharJsonTokenizer(text)
+                : new Utf8JsonTokenizer(bytes, offset, length, null);
+        tokenizer.seek(position(index));
+        return tokenizer;
+    }
+
+    private JsonValue value(int index) {
+        return switch (type(index)) {
+            case STRING -> new JsonValue.JsonString(tokenizerAt(index).readString());
+            case NUMBER -> new JsonValue.JsonNumber(tokenizerAt(index).readNumber());
+            case TRUE -> new JsonValue.JsonBoolean(true);
+            case FALSE -> new JsonValue.JsonBoolean(false);
+            case NULL -> new JsonValue.JsonNull();
+            case OBJECT -> new JsonValue.JsonObject(new LazyObject(this, index));
+            case ARRAY -> new JsonValue.JsonArray(new LazyArray(this, index));
+            default -> throw new IllegalStateException("Corrupt tape entry at " + index);
+        };
+    }
+
+    /**
+     * Members of an object in document order. As in {@link JsonParser}, a key that occurs more than
+     * once keeps the position of its first occurrence and the value of its last.
+     */
+    private static final class LazyObject extends AbstractMap<String, JsonValue> {
+
+        private final JsonTape tape;
+        private final int index;
+        private volatile int[] members;
+
+        LazyObject(JsonTape tape, int index) {
+            this.tape = tape;
+            this.index = index;
+        }
+
+        @Override
+        public int size() {
+            return members().length / 2;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public JsonValue get(Object key) {
+            int found = find(key);
+            return found < 0 ? null : tape.value(found);
+        }
+
+        /**
+         * Returns the tape index of the value for {@code key}, or -1. Keys without escapes
+         * are compared in the input, without decoding them; a later duplicate wins.
+         */
+        private int find(Object key) {
+            if (!(key instanceof String name)) {
+                return -1;
+            }
+            int count = tape.count(index);
+            int member = index + 2;
+            int found = -1;
+            JsonTokenizer tokenizer = null;
+            for (int i = 0; i < count; i++) {
+                if (tokenizer == null) {
+                    tokenizer = tape.tokenizerAt(member);
+                } else {
+                    tokenizer.seek(tape.position(member));
+                }
+                if (tokenizer.matchString(name)) {
+                    found = member + 1;
+                }
+                member = tape.next(member + 1);
+            }
+            return found;
+        }
+
+        /**
+         * Tape index of each distinct key followed by that of its value, computed on first access.
+         */
+        private int[] members() {
+            int[] result = members;
+            if (result == null) {
+                int count = tape.count(index);
+                result = new int[count * 2];
+                var slots = new HashMap<String, Integer>();
+                int distinct = 0;
+                int member = index + 2;
+                JsonTokenizer tokenizer = null;
+                for (int i = 0; i < count; i++) {
+                    if (tokenizer == null) {
+                        tokenizer = tape.tokenizerAt(member);
+                    } else {
+                        tokenizer.seek(tape.position(member));
+                    }
+                    Integer slot = slots.putIfAbsent(tokenizer.readString(), distinct);
+                    if (slot == null) {
+                        result[distinct * 2] = member;
+                        result[distinct * 2 + 1] = member + 1;
+                        distinct++;
+                    } else {
+                        result[slot * 2 + 1] = member + 1;
+                    }
+                    member = tape.next(member + 1);
+                }
+                if (distinct < count) {
+                    result = Arrays.copyOf(result, distinct * 2);
+                }
+                members = result;
+            }
+            return result;
+        }
+
+        @Override
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return LazyObject.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    return new Iterator<>() {
+                        private final int[] entries = members();
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < entries.length;
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+                            if (next == entries.length) {
+                                throw new NoSuchElementException();
+                            }
+                            String key = tape.tokenizerAt(entries[next]).readString();
+                            JsonValue value = tape.value(entries[next + 1]);
+                            next += 2;
+                            return Map.entry(key, value);
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    private static final class LazyArray extends AbstractList<JsonValue> implements RandomAccess {
+
+        private final JsonTape tape;
+        private final int index;
+        private volatile int[] elements;
+
+        LazyArray(JsonTape tape, int index) {
+            this.tape = tape;
+            this.index = index;
+        }
+
+        @Override
+        public int size() {
+            return tape.count(index);
+        }
+
+        @Override
+        public JsonValue get(int i) {
+            return tape.value(elements()[i]);
+        }
+
+        /**
+         * Tape index of each element, computed on first access.
+         */
+        private int[] elements() {
+            int[] result = elements;
+            if (result == null) {
+                result = new int[tape.count(index)];
+                int element = index + 2;
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = element;
+                    element = tape.next(element);
+                }
+                elements = result;
+            }
+            return result;
+        }
+    }
+}
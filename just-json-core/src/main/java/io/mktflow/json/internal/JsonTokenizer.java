@@ -2,150 +2,262 @@ package io.mktflow.json.internal;
 
 import io.mktflow.json.JsonException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
 
-public final class JsonTokenizer {
+/**
+ * Lazy scanner over a JSON document. Tokens are classified on demand by {@link #peek()}
+ * and consumed one at a time, so no token list is ever materialized.
+ */
+public abstract sealed class JsonTokenizer permits CharJsonTokenizer, ByteJsonTokenizer {
 
-    private final String input;
-    private int pos;
+    /** Canonicalization table for short strings, or null to always copy. */
+    StringCache strings;
 
-    public JsonTokenizer(String input) {
-        this.input = input;
-        this.pos = 0;
-    }
+    // What the container being skipped allows next, after the previous token
+    private static final int VALUE = 0;
+    private static final int FIRST = 1; // first member or element, or the closing bracket
+    private static final int KEY = 2;
+    private static final int COLON = 3;
+    private static final int NEXT = 4;  // a comma or the closing bracket
 
-    public List<JsonToken> tokenize() {
-        var tokens = new ArrayList<JsonToken>();
-        while (pos < input.length()) {
-            skipWhitespace();
-            if (pos >= input.length()) {
-                break;
-            }
-            char c = input.charAt(pos);
-            switch (c) {
-                case '{' -> tokens.add(new JsonToken(JsonToken.Type.LEFT_BRACE, "{", pos++));
-                case '}' -> tokens.add(new JsonToken(JsonToken.Type.RIGHT_BRACE, "}", pos++));
-                case '[' -> tokens.add(new JsonToken(JsonToken.Type.LEFT_BRACKET, "[", pos++));
-                case ']' -> tokens.add(new JsonToken(JsonToken.Type.RIGHT_BRACKET, "]", pos++));
-                case ':' -> tokens.add(new JsonToken(JsonToken.Type.COLON, ":", pos++));
-                case ',' -> tokens.add(new JsonToken(JsonToken.Type.COMMA, ",", pos++));
-                case '"' -> tokens.add(readString());
-                case 't' -> tokens.add(readLiteral("true", JsonToken.Type.TRUE));
-                case 'f' -> tokens.add(readLiteral("false", JsonToken.Type.FALSE));
-                case 'n' -> tokens.add(readLiteral("null", JsonToken.Type.NULL));
-                default -> {
-                    if (c == '-' || (c >= '0' && c <= '9')) {
-                        tokens.add(readNumber());
-                    } else {
-                        throw new JsonException("Unexpected character '" + c + "' at position " + pos);
-                    }
-                }
-            }
+    // Container skipping state: bit i of kinds is set if the container at depth i is an object.
+    // Containers nested deeper than 64 levels spill into deepKinds.
+    private long kinds;
+    private long[] deepKinds;
+    private int depth;
+    private int expect;
+
+    JsonTokenizer() {}
+
+    /**
+     * Returns shared instances for repeated keys and short string values from now on.
+     */
+    public void canonicalizeStrings() {
+        if (strings == null) {
+            strings = new StringCache();
         }
-        tokens.add(new JsonToken(JsonToken.Type.EOF, "", pos));
-        return tokens;
     }
 
-    private void skipWhitespace() {
-        while (pos < input.length()) {
-            char c = input.charAt(pos);
-            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
-                pos++;
-            } else {
-                break;
-            }
-        }
+    public static JsonTokenizer of(String json) {
+        return new CharJsonTokenizer(json);
     }
 
-    private JsonToken readString() {
-        int start = pos;
-        pos++; // skip opening quote
-        var sb = new StringBuilder();
-        while (pos < input.length()) {
-            char c = input.charAt(pos);
-            if (c == '\\') {
-                pos++;
-                if (pos >= input.length()) {
-                    throw new JsonException("Unterminated string escape at position " + pos);
-                }
-                char escaped = input.charAt(pos);
-                switch (escaped) {
-                    case '"' -> sb.append('"');
-                    case '\\' -> sb.append('\\');
-                    case '/' -> sb.append('/');
-                    case 'b' -> sb.append('\b');
-                    case 'f' -> sb.append('\f');
-                    case 'n' -> sb.append('\n');
-                    case 'r' -> sb.append('\r');
-                    case 't' -> sb.append('\t');
-                    case 'u' -> {
-                        if (pos + 4 >= input.length()) {
-                            throw new JsonException("Unterminated unicode escape at position " + pos);
-                        }
-                        String hex = input.substring(pos + 1, pos + 5);
-                        sb.append((char) Integer.parseInt(hex, 16));
-                        pos += 4;
-                    }
-                    default -> throw new JsonException("Invalid escape character '\\" + escaped + "' at position " + pos);
-                }
-                pos++;
-            } else if (c == '"') {
-                pos++; // skip closing quote
-                return new JsonToken(JsonToken.Type.STRING, sb.toString(), start);
-            } else {
-                sb.append(c);
-                pos++;
-            }
+    /**
+     * Tokenizes UTF-8 encoded bytes in place; strings are decoded only when they are read.
+     */
+    public static JsonTokenizer of(byte[] json, int offset, int length) {
+        if (StructuralIndex.use(length)) {
+            return indexed(json, offset, length);
         }
-        throw new JsonException("Unterminated string starting at position " + start);
+        return new Utf8JsonTokenizer(json, offset, length, null);
     }
 
-    private JsonToken readNumber() {
-        int start = pos;
-        if (pos < input.length() && input.charAt(pos) == '-') {
-            pos++;
-        }
-        if (pos >= input.length() || input.charAt(pos) < '0' || input.charAt(pos) > '9') {
-            throw new JsonException("Invalid number at position " + start);
+    /**
+     * Tokenizes UTF-8 input through a {@link StructuralIndex}, regardless of the
+     * {@code io.mktflow.json.simd} flag and input size.
+     */
+    public static JsonTokenizer indexed(byte[] json, int offset, int length) {
+        return new Utf8JsonTokenizer(json, offset, length, StructuralIndex.build(json, offset, offset + length));
+    }
+
+    /**
+     * Tokenizes UTF-8 encoded bytes in a memory segment, such as a mapped file, with 64-bit offsets.
+     * The segment must stay accessible while the tokenizer is in use.
+     */
+    public static JsonTokenizer of(MemorySegment json) {
+        return new SegmentJsonTokenizer(json);
+    }
+
+    /**
+     * Returns the offset of the cursor from the start of the input.
+     */
+    public abstract long position();
+
+    /**
+     * Skips whitespace and returns the type of the next token without consuming it.
+     */
+    public abstract JsonToken.Type peek();
+
+    /**
+     * Consumes a structural or literal token of the given type.
+     * Strings and numbers are consumed with {@link #readString()} and {@link #readNumber()}.
+     */
+    public abstract void expect(JsonToken.Type type);
+
+    /**
+     * Moves the cursor to {@code position}, an offset previously returned by {@link #position()}.
+     */
+    abstract void seek(int position);
+
+    /**
+     * Reads the string token at the current position, which must be its opening quote.
+     */
+    public abstract String readString();
+
+    /**
+     * Reads the number token at the current position and returns its source text.
+     */
+    public abstract String readNumber();
+
+    /**
+     * Validates and consumes the number token at the current position without creating a String.
+     */
+    public abstract void skipNumber();
+
+    /**
+     * Parses the number at the current position in place as a long.
+     * Fractions, exponents and out-of-range values are rejected.
+     */
+    public abstract long readLong();
+
+    /**
+     * Parses the number at the current position in place, without creating a String
+     * unless it has more than 19 significant digits.
+     */
+    public abstract double readDouble();
+
+    /**
+     * Float counterpart of {@link #readDouble()}; rounds once, directly to float.
+     */
+    public abstract float readFloat();
+
+    /**
+     * Skips the string token at the current position without decoding it.
+     */
+    public abstract void skipString();
+
+    /**
+     * Skips the next value. Objects and arrays are skipped by matching brackets outside of
+     * strings, checking their structure but without decoding their contents.
+     */
+    public void skipValue() {
+        JsonToken.Type type = peek();
+        switch (type) {
+            case LEFT_BRACE, LEFT_BRACKET -> skipContainer();
+            case STRING -> skipString();
+            case NUMBER -> skipNumber();
+            case TRUE, FALSE, NULL -> expect(type);
+            default -> throw new JsonException("Unexpected token " + type + " at position " + position());
         }
-        if (input.charAt(pos) == '0') {
-            pos++;
-        } else {
-            while (pos < input.length() && input.charAt(pos) >= '0' && input.charAt(pos) <= '9') {
-                pos++;
+    }
+
+    /**
+     * Skips past the bracket that closes the object or array opening at the current position.
+     * Implementations feed the first character of every token to {@link #skipToken}.
+     */
+    abstract void skipContainer();
+
+    void beginSkip() {
+        depth = 0;
+        expect = VALUE;
+    }
+
+    /**
+     * Checks the next token of a container being skipped, given by its first character: a
+     * bracket, {@code ','}, {@code ':'}, {@code '"'} for a string, or any other character for a
+     * literal or number. Brackets must match in kind and separators must stand between members;
+     * the spelling of literals and numbers is not checked. Returns true once the outermost
+     * container is closed.
+     */
+    final boolean skipToken(int c, long position) {
+        boolean object = depth > 0 && isObject(depth - 1);
+        switch (c) {
+            case '{', '[' -> {
+                if (expect != VALUE && (expect != FIRST || object)) {
+                    throw unexpectedInSkip(c, position);
+                }
+                push(c == '{');
+                expect = FIRST;
             }
-        }
-        if (pos < input.length() && input.charAt(pos) == '.') {
-            pos++;
-            if (pos >= input.length() || input.charAt(pos) < '0' || input.charAt(pos) > '9') {
-                throw new JsonException("Invalid number at position " + start);
+            case '}', ']' -> {
+                if (expect != NEXT && expect != FIRST || object != (c == '}')) {
+                    throw unexpectedInSkip(c, position);
+                }
+                expect = NEXT;
+                return --depth == 0;
             }
-            while (pos < input.length() && input.charAt(pos) >= '0' && input.charAt(pos) <= '9') {
-                pos++;
+            case ',' -> {
+                if (expect != NEXT) {
+                    throw unexpectedInSkip(c, position);
+                }
+                expect = object ? KEY : VALUE;
             }
-        }
-        if (pos < input.length() && (input.charAt(pos) == 'e' || input.charAt(pos) == 'E')) {
-            pos++;
-            if (pos < input.length() && (input.charAt(pos) == '+' || input.charAt(pos) == '-')) {
-                pos++;
+            case ':' -> {
+                if (expect != COLON) {
+                    throw unexpectedInSkip(c, position);
+                }
+                expect = VALUE;
             }
-            if (pos >= input.length() || input.charAt(pos) < '0' || input.charAt(pos) > '9') {
-                throw new JsonException("Invalid number at position " + start);
+            case '"' -> {
+                if (expect == KEY || expect == FIRST && object) {
+                    expect = COLON;
+                } else if (expect == VALUE || expect == FIRST) {
+                    expect = NEXT;
+                } else {
+                    throw unexpectedInSkip(c, position);
+                }
             }
-            while (pos < input.length() && input.charAt(pos) >= '0' && input.charAt(pos) <= '9') {
-                pos++;
+            default -> {
+                if (expect != VALUE && (expect != FIRST || object)) {
+                    throw unexpectedInSkip(c, position);
+                }
+                expect = NEXT;
             }
         }
-        return new JsonToken(JsonToken.Type.NUMBER, input.substring(start, pos), start);
+        return false;
+    }
+
+    /**
+     * Returns true for the characters that end a literal or number: whitespace, brackets,
+     * separators and quotes.
+     */
+    static boolean endsScalar(int c) {
+        return switch (c) {
+            case ' ', '\t', '\n', '\r', '{', '}', '[', ']', ',', ':', '"' -> true;
+            default -> false;
+        };
     }
 
-    private JsonToken readLiteral(String expected, JsonToken.Type type) {
-        int start = pos;
-        if (pos + expected.length() > input.length() || !input.substring(pos, pos + expected.length()).equals(expected)) {
-            throw new JsonException("Expected '" + expected + "' at position " + pos);
+    private void push(boolean object) {
+        if (depth < 64) {
+            kinds = object ? kinds | 1L << depth : kinds & ~(1L << depth);
+        } else {
+            int word = (depth - 64) >>> 6;
+            if (deepKinds == null || word == deepKinds.length) {
+                deepKinds = deepKinds == null ? new long[1] : Arrays.copyOf(deepKinds, word * 2);
+            }
+            long bit = 1L << (depth & 63);
+            deepKinds[word] = object ? deepKinds[word] | bit : deepKinds[word] & ~bit;
         }
-        pos += expected.length();
-        return new JsonToken(type, expected, start);
+        depth++;
     }
+
+    private boolean isObject(int level) {
+        long word = level < 64 ? kinds : deepKinds[(level - 64) >>> 6];
+        return (word >>> (level & 63) & 1) != 0;
+    }
+
+    private static JsonException unexpectedInSkip(int c, long position) {
+        return new JsonException("Unexpected character '" + (char) c + "' at position " + position);
+    }
+
+    /**
+     * Consumes the string token at the current position if it equals {@code expected}.
+     * Leaves the cursor unchanged and returns false otherwise. Strings without escapes
+     * are compared in place, without allocating.
+     */
+    public abstract boolean matchString(String expected);
+
+    /**
+     * Returns the UTF-8 length of the string token at the current position,
+     * or -1 if it contains escape sequences. Does not consume the token.
+     */
+    public abstract int nameLength();
+
+    /**
+     * Returns the first UTF-8 byte of the string token at the current position,
+     * or -1 if it is empty. Does not consume the token.
+     */
+    public abstract int nameLeadByte();
 }
@@ -2,6 +2,7 @@ package io.mktflow.json.internal;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -10,32 +11,52 @@ public final class JsonWriter {
 
     private JsonWriter() {}
 
+    /**
+     * Escape sequence for each ASCII character, or null if it is written as is.
+     */
+    static final String[] ESCAPES = new String[128];
+    static final byte[][] ESCAPE_BYTES = new byte[128][];
+
+    static {
+        char[] hex = "0123456789abcdef".toCharArray();
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = "\\u00" + hex[c >> 4] + hex[c & 0xF];
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+        for (int c = 0; c < 128; c++) {
+            if (ESCAPES[c] != null) {
+                ESCAPE_BYTES[c] = ESCAPES[c].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
     public static void writeString(String value, StringBuilder sb) {
         if (value == null) {
             sb.append("null");
             return;
         }
         sb.append('"');
-        for (int i = 0; i < value.length(); i++) {
+        int runStart = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
             char c = value.charAt(i);
-            switch (c) {
-                case '"' -> sb.append("\\\"");
-                case '\\' -> sb.append("\\\\");
-                case '\b' -> sb.append("\\b");
-                case '\f' -> sb.append("\\f");
-                case '\n' -> sb.append("\\n");
-                case '\r' -> sb.append("\\r");
-                case '\t' -> sb.append("\\t");
-                default -> {
-                    if (c < 0x20) {
-                        sb.append("\\u");
-                        sb.append(String.format("%04x", (int) c));
-                    } else {
-                        sb.append(c);
-                    }
-                }
+            if (c < 0x80 && ESCAPES[c] != null) {
+                sb.append(value, runStart, i);
+                sb.append(ESCAPES[c]);
+                runStart = i + 1;
             }
         }
+        if (runStart == 0) {
+            sb.append(value);
+        } else {
+            sb.append(value, runStart, length);
+        }
         sb.append('"');
     }
 
@@ -176,4 +197,162 @@ public final class JsonWriter {
             objectWriter.accept(value, sb);
         }
     }
+
+    // --- UTF-8 byte sink ---
+
+    public static void writeString(String value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+            return;
+        }
+        out.writeByte('"');
+        int length = value.length();
+        int i = out.writeUnescapedAscii(value, 0, length);
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.writeBytes(ESCAPE_BYTES[c]);
+                i++;
+            } else {
+                int runEnd = i + 1;
+                while (runEnd < length && value.charAt(runEnd) >= 0x80) {
+                    runEnd++;
+                }
+                out.writeUtf8(value, i, runEnd);
+                i = runEnd;
+            }
+            i = out.writeUnescapedAscii(value, i, length);
+        }
+        out.writeByte('"');
+    }
+
+    public static void writeInt(int value, JsonOutput out) {
+        out.writeInt(value);
+    }
+
+    public static void writeLong(long value, JsonOutput out) {
+        out.writeLong(value);
+    }
+
+    public static void writeDouble(double value, JsonOutput out) {
+        out.writeDouble(value);
+    }
+
+    public static void writeFloat(float value, JsonOutput out) {
+        out.writeFloat(value);
+    }
+
+    public static void writeBoolean(boolean value, JsonOutput out) {
+        out.writeAscii(value ? "true" : "false");
+    }
+
+    public static void writeInteger(Integer value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeInt(value, out);
+        }
+    }
+
+    public static void writeLongBoxed(Long value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeLong(value, out);
+        }
+    }
+
+    public static void writeDoubleBoxed(Double value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeDouble(value, out);
+        }
+    }
+
+    public static void writeFloatBoxed(Float value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeFloat(value, out);
+        }
+    }
+
+    public static void writeBooleanBoxed(Boolean value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeBoolean(value, out);
+        }
+    }
+
+    public static void writeBigDecimal(BigDecimal value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            out.writeAscii(value.toPlainString());
+        }
+    }
+
+    public static void writeBigInteger(BigInteger value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            out.writeAscii(value.toString());
+        }
+    }
+
+    public static <E extends Enum<E>> void writeEnum(E value, JsonOutput out) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeString(value.name(), out);
+        }
+    }
+
+    public static <E extends Enum<E>> void writeEnum(E value, JsonOutput out, Map<E, String> names) {
+        if (value == null) {
+            out.writeAscii("null");
+        } else {
+            writeString(names.get(value), out);
+        }
+    }
+
+    public static <T> void writeList(List<T> list, JsonOutput out, BiConsumer<T, JsonOutput> elementWriter) {
+        if (list == null) {
+            out.writeAscii("null");
+            return;
+        }
+        out.writeByte('[');
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                out.writeByte(',');
+            }
+            elementWriter.accept(list.get(i), out);
+        }
+        out.writeByte(']');
+    }
+
+    public static <V> void writeMap(Map<String, V> map, JsonOutput out, BiConsumer<V, JsonOutput> valueWriter) {
+        if (map == null) {
+            out.writeAscii("null");
+            return;
+        }
+        out.writeByte('{');
+        boolean first = true;
+        for (var entry : map.entrySet()) {
+            if (!first) {
+                out.writeByte(',');
+            }
+            first = false;
+            writeString(entry.getKey(), out);
+            out.writeByte(':');
+            valueWriter.accept(entry.getValue(), out);
+        }
+        out.writeByte('}');
+    }
+
+    public static void writeNull(JsonOutput out) {
+        out.writeAscii("null");
+    }
 }
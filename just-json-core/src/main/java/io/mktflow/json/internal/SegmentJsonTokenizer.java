@@ -0,0 +1,100 @@
+package io.mktflow.json.internal;
+
+import io.mktflow.json.JsonException;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 tokenizer over a {@link MemorySegment}, typically a memory-mapped file. Offsets are
+ * {@code long}, so inputs larger than 2 GiB are supported; only individual strings and numbers
+ * are copied to the heap, when they are read.
+ */
+final class SegmentJsonTokenizer extends ByteJsonTokenizer {
+
+    private final MemorySegment input;
+
+    SegmentJsonTokenizer(MemorySegment input) {
+        super(0, input.byteSize());
+        this.input = input;
+    }
+
+    @Override
+    byte byteAt(long i) {
+        return input.get(ValueLayout.JAVA_BYTE, i);
+    }
+
+    @Override
+    long indexOfQuoteOrEscape(long from) {
+        for (long i = from; i < end; i++) {
+            byte b = input.get(ValueLayout.JAVA_BYTE, i);
+            if (b == '"' || b == '\\') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    void skipWhitespace() {
+        while (pos < end && isWhitespace(input.get(ValueLayout.JAVA_BYTE, pos))) {
+            pos++;
+        }
+    }
+
+    @Override
+    void skipContainer() {
+        long open = pos;
+        beginSkip();
+        while (pos < end) {
+            int c = input.get(ValueLayout.JAVA_BYTE, pos) & 0xFF;
+            if (isWhitespace((byte) c)) {
+                pos++;
+            } else if (skipToken(c, pos - start)) {
+                pos++;
+                return;
+            } else if (c == '"') {
+                skipString();
+            } else {
+                pos++;
+                if (!endsScalar(c)) {
+                    while (pos < end && !endsScalar(input.get(ValueLayout.JAVA_BYTE, pos))) {
+                        pos++;
+                    }
+                }
+            }
+        }
+        throw unterminatedContainer(open);
+    }
+
+    @Override
+    String latin1(long from, long to) {
+        return string(from, to, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    String utf8(long from, long to) {
+        return string(from, to, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    String cached(long from, long to) {
+        return strings.get(input, from, to);
+    }
+
+    private String string(long from, long to, Charset charset) {
+        return new String(bytes(from, to), charset);
+    }
+
+    private byte[] bytes(long from, long to) {
+        long length = to - from;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new JsonException("String too long at position " + from);
+        }
+        byte[] bytes = new byte[(int) length];
+        MemorySegment.copy(input, ValueLayout.JAVA_BYTE, from, bytes, 0, bytes.length);
+        return bytes;
+    }
+}
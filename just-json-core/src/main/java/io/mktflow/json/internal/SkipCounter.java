@@ -0,0 +1,45 @@
+package io.mktflow.json.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the members a generated reader skipped because its record does not declare them, and how
+ * much input they took up: bytes for UTF-8 input, chars for String input. One counter exists per
+ * record type, shared by all threads.
+ */
+public final class SkipCounter {
+
+    private static final Map<Class<?>, SkipCounter> COUNTERS = new ConcurrentHashMap<>();
+
+    private final LongAdder fields = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private SkipCounter() {}
+
+    public static SkipCounter of(Class<?> type) {
+        return COUNTERS.computeIfAbsent(type, t -> new SkipCounter());
+    }
+
+    /**
+     * Records one skipped member whose name and value spanned {@code length} units of input.
+     */
+    public void record(long length) {
+        fields.increment();
+        bytes.add(length);
+    }
+
+    public long fields() {
+        return fields.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    public void reset() {
+        fields.reset();
+        bytes.reset();
+    }
+}
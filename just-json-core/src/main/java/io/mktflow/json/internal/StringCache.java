@@ -0,0 +1,117 @@
+package io.mktflow.json.internal;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canonicalizes object keys and short string values while parsing one document: repeated
+ * occurrences of the same characters return the same {@code String} instance instead of a new copy.
+ * The table is direct-mapped on a hash of the raw input range, so lookups never allocate. Eviction
+ * is second-chance: a colliding string replaces an entry only if that entry has not been hit since
+ * it was inserted or last spared, so a stream of one-off values cannot flush hot keys. Strings
+ * with escapes, non-ASCII bytes (UTF-8 input) or more than {@link #MAX_LENGTH} characters are not
+ * cached.
+ */
+final class StringCache {
+
+    static final int MAX_LENGTH = 32;
+    private static final int SIZE = 512;
+
+    private final String[] entries = new String[SIZE];
+    private final boolean[] referenced = new boolean[SIZE];
+
+    String get(String input, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + input.charAt(i);
+        }
+        int slot = slot(h);
+        String cached = entries[slot];
+        int length = to - from;
+        if (cached != null && cached.length() == length && input.regionMatches(from, cached, 0, length)) {
+            referenced[slot] = true;
+            return cached;
+        }
+        return insert(slot, input.substring(from, to));
+    }
+
+    /**
+     * Returns the cached string for ASCII bytes {@code input[from, to)}, or null if the range
+     * contains non-ASCII bytes.
+     */
+    String get(byte[] input, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            byte b = input[i];
+            if (b < 0) {
+                return null;
+            }
+            h = 31 * h + b;
+        }
+        int slot = slot(h);
+        String cached = entries[slot];
+        int length = to - from;
+        if (cached != null && cached.length() == length && matches(cached, input, from)) {
+            referenced[slot] = true;
+            return cached;
+        }
+        return insert(slot, new String(input, from, length, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Segment counterpart of {@link #get(byte[], int, int)}. The range is hashed and compared in
+     * place and copied only when it is inserted.
+     */
+    String get(MemorySegment input, long from, long to) {
+        int h = 0;
+        for (long i = from; i < to; i++) {
+            byte b = input.get(ValueLayout.JAVA_BYTE, i);
+            if (b < 0) {
+                return null;
+            }
+            h = 31 * h + b;
+        }
+        int slot = slot(h);
+        String cached = entries[slot];
+        int length = (int) (to - from);
+        if (cached != null && cached.length() == length && matches(cached, input, from)) {
+            referenced[slot] = true;
+            return cached;
+        }
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(input, ValueLayout.JAVA_BYTE, from, bytes, 0, length);
+        return insert(slot, new String(bytes, StandardCharsets.ISO_8859_1));
+    }
+
+    private String insert(int slot, String value) {
+        if (referenced[slot]) {
+            referenced[slot] = false;
+        } else {
+            entries[slot] = value;
+        }
+        return value;
+    }
+
+    private static boolean matches(String cached, byte[] input, int from) {
+        for (int i = 0; i < cached.length(); i++) {
+            if (cached.charAt(i) != input[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String cached, MemorySegment input, long from) {
+        for (int i = 0; i < cached.length(); i++) {
+            if (cached.charAt(i) != input.get(ValueLayout.JAVA_BYTE, from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slot(int h) {
+        return (h ^ (h >>> 16)) & (SIZE - 1);
+    }
+}
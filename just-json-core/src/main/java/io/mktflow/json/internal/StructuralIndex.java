@@ -0,0 +1,125 @@
+package io.mktflow.json.internal;
+
+import java.util.Arrays;
+
+/**
+ * Stage-one structural index over UTF-8 input, in the style of simdjson: the positions of every
+ * structural character outside strings, every unescaped quote, and the first byte of every
+ * literal or number. The tokenizer walks this index to jump over whitespace runs instead of
+ * testing them byte by byte.
+ * <p>
+ * Enabled with {@code -Dio.mktflow.json.simd=true}. Blocks are classified with
+ * {@code jdk.incubator.vector} when that module is resolved ({@code --add-modules jdk.incubator.vector});
+ * otherwise byte input goes through the plain scalar tokenizer.
+ */
+public final class StructuralIndex {
+
+    static final boolean ENABLED = Boolean.getBoolean("io.mktflow.json.simd");
+    static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /** Below this size, building the index costs more than it saves. */
+    static final int MIN_LENGTH = 1024;
+
+    private StructuralIndex() {}
+
+    /**
+     * Returns true if byte input of the given length is tokenized through a structural index.
+     */
+    static boolean use(int length) {
+        return ENABLED && VECTOR_AVAILABLE && length >= MIN_LENGTH;
+    }
+
+    public static boolean vectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Builds the index for {@code input[start, end)} using the vector scanner when available.
+     * Positions are absolute and ascending, and the array is terminated by {@code end}.
+     */
+    public static int[] build(byte[] input, int start, int end) {
+        return VECTOR_AVAILABLE ? VectorStructuralScanner.scan(input, start, end) : scalar(input, start, end);
+    }
+
+    /**
+     * Reference byte-at-a-time implementation of {@link #build}.
+     */
+    public static int[] scalar(byte[] input, int start, int end) {
+        var positions = new Positions(end - start);
+        boolean inString = false;
+        boolean escaped = false;
+        boolean inScalar = false;
+        for (int i = start; i < end; i++) {
+            byte b = input[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    positions.add(i);
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> {
+                    inString = true;
+                    inScalar = false;
+                    positions.add(i);
+                }
+                case '{', '}', '[', ']', ':', ',' -> {
+                    inScalar = false;
+                    positions.add(i);
+                }
+                case ' ', '\t', '\n', '\r' -> inScalar = false;
+                default -> {
+                    if (!inScalar) {
+                        inScalar = true;
+                        positions.add(i);
+                    }
+                }
+            }
+        }
+        return positions.finish(end);
+    }
+
+    /**
+     * Growable position list; starts small since most bytes in typical JSON are not structural.
+     */
+    static final class Positions {
+
+        private int[] data;
+        private int size;
+
+        Positions(int length) {
+            data = new int[Math.max(64, length >>> 3)];
+        }
+
+        void add(int position) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = position;
+        }
+
+        /**
+         * Appends every set bit of {@code bits} as {@code base + bitIndex}.
+         */
+        void addBits(int base, long bits) {
+            int needed = size + Long.bitCount(bits);
+            if (needed > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, needed));
+            }
+            while (bits != 0) {
+                data[size++] = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        int[] finish(int end) {
+            add(end);
+            return size == data.length ? data : Arrays.copyOf(data, size);
+        }
+    }
+}
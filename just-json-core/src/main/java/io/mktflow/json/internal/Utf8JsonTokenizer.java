@@ -0,0 +1,129 @@
+package io.mktflow.json.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * UTF-8 tokenizer over a byte array, optionally guided by a {@link StructuralIndex} that lets
+ * whitespace runs and skipped containers be jumped over instead of scanned.
+ */
+final class Utf8JsonTokenizer extends ByteJsonTokenizer {
+
+    private final byte[] input;
+    private final int[] index;
+    private int cursor;
+
+    Utf8JsonTokenizer(byte[] input, int offset, int length, int[] index) {
+        super(offset, offset + length);
+        this.input = input;
+        this.index = index;
+    }
+
+    @Override
+    byte byteAt(long i) {
+        return input[(int) i];
+    }
+
+    @Override
+    long indexOfQuoteOrEscape(long from) {
+        byte[] in = input;
+        int limit = (int) end;
+        for (int i = (int) from; i < limit; i++) {
+            byte b = in[i];
+            if (b == '"' || b == '\\') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    @Override
+    String latin1(long from, long to) {
+        return new String(input, (int) from, (int) (to - from), StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    String utf8(long from, long to) {
+        return new String(input, (int) from, (int) (to - from), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    String cached(long from, long to) {
+        return strings.get(input, (int) from, (int) to);
+    }
+
+    @Override
+    void seek(int position) {
+        super.seek(position);
+        if (index != null) {
+            int i = Arrays.binarySearch(index, (int) pos);
+            cursor = i >= 0 ? i : -i - 1;
+        }
+    }
+
+    @Override
+    void skipWhitespace() {
+        if (index == null) {
+            while (pos < end && isWhitespace(input[(int) pos])) {
+                pos++;
+            }
+        } else if (pos < end && isWhitespace(input[(int) pos])) {
+            // Every non-whitespace run outside a string starts at an indexed position
+            while (index[cursor] < pos) {
+                cursor++;
+            }
+            pos = index[cursor];
+        }
+    }
+
+    @Override
+    void skipContainer() {
+        if (index != null) {
+            // Indexed positions are never inside strings: each string shows up as its two quotes,
+            // and each literal or number as its first byte
+            while (index[cursor] < pos) {
+                cursor++;
+            }
+            beginSkip();
+            for (int i = cursor; index[i] < end; i++) {
+                int c = input[index[i]] & 0xFF;
+                if (skipToken(c, index[i] - start)) {
+                    pos = index[i] + 1;
+                    cursor = i + 1;
+                    return;
+                }
+                if (c == '"' && index[++i] >= end) {
+                    break;
+                }
+            }
+        }
+        // Unindexed, or unterminated: scan to report the error
+        byte[] in = input;
+        int limit = (int) end;
+        int i = (int) pos;
+        int open = i;
+        beginSkip();
+        while (i < limit) {
+            int c = in[i] & 0xFF;
+            if (isWhitespace((byte) c)) {
+                i++;
+            } else if (skipToken(c, i - start)) {
+                pos = i + 1;
+                return;
+            } else if (c == '"') {
+                pos = i;
+                skipString();
+                i = (int) pos;
+            } else {
+                i++;
+                if (!endsScalar(c)) {
+                    while (i < limit && !endsScalar(in[i])) {
+                        i++;
+                    }
+                }
+            }
+        }
+        pos = i;
+        throw unterminatedContainer(open);
+    }
+}
@@ -0,0 +1,100 @@
+package io.mktflow.json.internal;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Vectorized {@link StructuralIndex} builder. Input is processed in 64-byte blocks, each
+ * classified into one bit per byte (quote, backslash, structural, whitespace) with vector
+ * compares; string and escape state is then resolved across the block with bit arithmetic.
+ * Only loaded when {@code jdk.incubator.vector} is resolved.
+ */
+final class VectorStructuralScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() <= 64
+            ? ByteVector.SPECIES_PREFERRED
+            : ByteVector.SPECIES_512;
+    private static final int BLOCK = 64;
+
+    private VectorStructuralScanner() {}
+
+    static int[] scan(byte[] input, int start, int end) {
+        var positions = new StructuralIndex.Positions(end - start);
+        long prevInString = 0;   // all ones if the previous block ended inside a string
+        boolean prevEscaped = false;
+        long prevScalar = 0;     // 1 if the previous block ended inside a literal or number
+
+        for (int blockStart = start; blockStart < end; blockStart += BLOCK) {
+            byte[] block = input;
+            int offset = blockStart;
+            if (end - blockStart < BLOCK) {
+                // Pad the last partial block with whitespace, which never produces a position
+                byte[] tail = new byte[BLOCK];
+                Arrays.fill(tail, (byte) ' ');
+                System.arraycopy(input, blockStart, tail, 0, end - blockStart);
+                block = tail;
+                offset = 0;
+            }
+
+            long quote = 0;
+            long backslash = 0;
+            long structural = 0;
+            long whitespace = 0;
+            for (int lane = 0; lane < BLOCK; lane += SPECIES.length()) {
+                ByteVector v = ByteVector.fromArray(SPECIES, block, offset + lane);
+                quote |= v.eq((byte) '"').toLong() << lane;
+                backslash |= v.eq((byte) '\\').toLong() << lane;
+                structural |= v.eq((byte) '{').or(v.eq((byte) '}'))
+                        .or(v.eq((byte) '[')).or(v.eq((byte) ']'))
+                        .or(v.eq((byte) ':')).or(v.eq((byte) ',')).toLong() << lane;
+                whitespace |= v.eq((byte) ' ').or(v.eq((byte) '\t'))
+                        .or(v.eq((byte) '\n')).or(v.eq((byte) '\r')).toLong() << lane;
+            }
+
+            // Escaped characters: each backslash that is not itself escaped escapes the next byte
+            long escaped = 0;
+            long pending = backslash;
+            if (prevEscaped) {
+                escaped = 1;
+                pending &= ~1L;
+            }
+            prevEscaped = false;
+            while (pending != 0) {
+                int i = Long.numberOfTrailingZeros(pending);
+                if (i == BLOCK - 1) {
+                    prevEscaped = true;
+                    break;
+                }
+                escaped |= 1L << (i + 1);
+                pending &= ~(3L << i);
+            }
+
+            long quotes = quote & ~escaped;
+            long inString = prefixXor(quotes) ^ prevInString;
+            prevInString = inString >> 63;
+
+            long scalar = ~(quote | structural | whitespace | inString);
+            long scalarStart = scalar & ~((scalar << 1) | prevScalar);
+            prevScalar = scalar >>> 63;
+
+            positions.addBits(blockStart, (structural & ~inString) | quotes | scalarStart);
+        }
+        return positions.finish(end);
+    }
+
+    /**
+     * Bit i of the result is the XOR of bits 0..i of {@code x}: set between an opening quote
+     * (inclusive) and its closing quote (exclusive).
+     */
+    private static long prefixXor(long x) {
+        x ^= x << 1;
+        x ^= x << 2;
+        x ^= x << 4;
+        x ^= x << 8;
+        x ^= x << 16;
+        x ^= x << 32;
+        return x;
+    }
+}
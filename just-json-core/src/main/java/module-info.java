@@ -1,4 +1,6 @@
 module io.mktflow.json {
+    requires static jdk.incubator.vector;
+
     exports io.mktflow.json;
     exports io.mktflow.json.internal;
 }
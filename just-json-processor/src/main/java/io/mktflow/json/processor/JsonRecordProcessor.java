@@ -1,5 +1,6 @@
 package io.mktflow.json.processor;
 
+import io.mktflow.json.JsonProjection;
 import io.mktflow.json.JsonProperty;
 import io.mktflow.json.JsonRecord;
 
@@ -9,7 +10,10 @@ import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.RecordComponentElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
@@ -21,12 +25,14 @@ import javax.tools.JavaFileObject;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
-@SupportedAnnotationTypes("io.mktflow.json.JsonRecord")
+@SupportedAnnotationTypes({"io.mktflow.json.JsonRecord", "io.mktflow.json.JsonProjection"})
 @SupportedOptions("json.registry.package")
 @SupportedSourceVersion(SourceVersion.RELEASE_25)
 public class JsonRecordProcessor extends AbstractProcessor {
@@ -34,6 +40,9 @@ public class JsonRecordProcessor extends AbstractProcessor {
     private final List<String> adapterClassNames = new ArrayList<>();
     private boolean registryGenerated = false;
 
+    /** JSON names of projection components, inherited from the projected record. */
+    private final Map<Element, String> projectedKeys = new HashMap<>();
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         var annotatedElements = roundEnv.getElementsAnnotatedWith(JsonRecord.class);
@@ -52,9 +61,26 @@ public class JsonRecordProcessor extends AbstractProcessor {
             generateAdapter(typeElement);
         }
 
+        var projections = roundEnv.getElementsAnnotatedWith(JsonProjection.class);
+        for (Element element : projections) {
+            if (element.getAnnotation(JsonRecord.class) != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "@JsonProjection cannot be combined with @JsonRecord", element);
+                continue;
+            }
+            if (!(element instanceof TypeElement typeElement) || !element.getKind().toString().equals("RECORD")) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "@JsonProjection can only be applied to records", element);
+                continue;
+            }
+            if (resolveProjectedKeys(typeElement)) {
+                generateAdapter(typeElement);
+            }
+        }
+
         // Generate registry in the same round as adapters (not in processingOver)
         // so the generated source file participates in compilation
-        if (!registryGenerated && !adapterClassNames.isEmpty() && !annotatedElements.isEmpty()) {
+        if (!registryGenerated && !adapterClassNames.isEmpty() && !(annotatedElements.isEmpty() && projections.isEmpty())) {
             generateRegistry();
             registryGenerated = true;
         }
@@ -62,7 +88,68 @@ public class JsonRecordProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * Checks each component of a projection against the projected record and records the JSON
+     * name it inherits. Returns false after reporting an error if the projection does not match.
+     */
+    private boolean resolveProjectedKeys(TypeElement projection) {
+        TypeElement source = getProjectedType(projection);
+        if (source == null || !source.getKind().toString().equals("RECORD")) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@JsonProjection(of = ...) must name a record", projection);
+            return false;
+        }
+        var sourceComponents = new HashMap<String, RecordComponentElement>();
+        for (RecordComponentElement comp : source.getRecordComponents()) {
+            sourceComponents.put(comp.getSimpleName().toString(), comp);
+        }
+        boolean valid = true;
+        for (RecordComponentElement comp : projection.getRecordComponents()) {
+            String name = comp.getSimpleName().toString();
+            RecordComponentElement sourceComp = sourceComponents.get(name);
+            if (sourceComp == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Component '" + name + "' is not declared by " + source.getSimpleName(), comp);
+                valid = false;
+            } else if (!processingEnv.getTypeUtils().isSameType(comp.asType(), sourceComp.asType())) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Component '" + name + "' must have type " + sourceComp.asType() + " as in " + source.getSimpleName(), comp);
+                valid = false;
+            } else if (comp.getAnnotation(JsonProperty.class) != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Component '" + name + "' inherits its JSON name from " + source.getSimpleName()
+                                + " and cannot declare @JsonProperty", comp);
+                valid = false;
+            } else {
+                projectedKeys.put(comp, getJsonKey(sourceComp));
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Reads {@code of} from the annotation mirror, since the Class value is not loadable here.
+     */
+    private TypeElement getProjectedType(TypeElement projection) {
+        for (AnnotationMirror mirror : projection.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(JsonProjection.class.getName())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("of")
+                        && entry.getValue().getValue() instanceof DeclaredType type) {
+                    return (TypeElement) type.asElement();
+                }
+            }
+        }
+        return null;
+    }
+
     private String getJsonKey(RecordComponentElement comp) {
+        String projected = projectedKeys.get(comp);
+        if (projected != null) {
+            return projected;
+        }
         JsonProperty prop = comp.getAnnotation(JsonProperty.class);
         return prop != null ? prop.value() : comp.getSimpleName().toString();
     }
@@ -123,9 +210,14 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 }
 
                 out.println("import io.mktflow.json.Json;");
+                out.println("import io.mktflow.json.JsonException;");
+                out.println("import io.mktflow.json.internal.BufferPool;");
                 out.println("import io.mktflow.json.internal.JsonMapper;");
+                out.println("import io.mktflow.json.internal.JsonOutput;");
+                out.println("import io.mktflow.json.internal.JsonReader;");
                 out.println("import io.mktflow.json.internal.JsonValue;");
                 out.println("import io.mktflow.json.internal.JsonWriter;");
+                out.println("import io.mktflow.json.internal.SkipCounter;");
                 out.println();
                 out.println("/**");
                 out.println(" * Generated JSON adapter for {@link " + recordSimpleName + "}.");
@@ -139,9 +231,17 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 // Generate static enum maps for any enum fields with @JsonProperty
                 generateEnumMaps(out, components);
 
+                // Pre-escaped member prefixes ({"key": / ,"key":) written in one bulk copy
+                generateKeyPrefixes(out, components);
+
+                out.println("    private static final SkipCounter SKIPPED = SkipCounter.of(" + recordSimpleName + ".class);");
+                out.println();
+
                 // static initializer to register with Json facade
                 out.println("    static {");
                 out.println("        Json.registerAdapter(" + recordSimpleName + ".class, " + adapterSimpleName + "::toJson, " + adapterSimpleName + "::fromJson);");
+                out.println("        Json.registerReader(" + recordSimpleName + ".class, " + adapterSimpleName + "::fromJson);");
+                out.println("        Json.registerWriter(" + recordSimpleName + ".class, " + adapterSimpleName + "::writeTo);");
                 out.println("    }");
                 out.println();
 
@@ -152,28 +252,20 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 // --- toJson ---
                 out.println("    public static String toJson(" + recordSimpleName + " obj) {");
                 out.println("        if (obj == null) return \"null\";");
-                out.println("        StringBuilder sb = new StringBuilder();");
-                out.println("        sb.append('{');");
-
-                for (int i = 0; i < components.size(); i++) {
-                    RecordComponentElement comp = components.get(i);
-                    String fieldName = comp.getSimpleName().toString();
-                    String jsonKey = getJsonKey(comp);
-                    TypeMirror fieldType = comp.asType();
-
-                    if (i > 0) {
-                        out.println("        sb.append(',');");
-                    }
-                    out.println("        JsonWriter.writeString(\"" + jsonKey + "\", sb);");
-                    out.println("        sb.append(':');");
-                    generateWriteField(out, fieldName, fieldType, recordSimpleName);
-                }
-
-                out.println("        sb.append('}');");
-                out.println("        return sb.toString();");
+                out.println("        StringBuilder sb = BufferPool.CHARS.acquire();");
+                out.println("        try {");
+                out.println("            writeTo(obj, sb);");
+                out.println("            return sb.toString();");
+                out.println("        } finally {");
+                out.println("            BufferPool.CHARS.release(sb);");
+                out.println("        }");
                 out.println("    }");
                 out.println();
 
+                // --- writeTo (StringBuilder and UTF-8 byte sink) ---
+                generateWriteTo(out, recordSimpleName, components, false);
+                generateWriteTo(out, recordSimpleName, components, true);
+
                 // --- fromJson ---
                 out.println("    public static " + recordSimpleName + " fromJson(JsonValue value) {");
                 out.println("        if (value instanceof JsonValue.JsonNull) return null;");
@@ -193,6 +285,10 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 }
                 out.println(");");
                 out.println("    }");
+                out.println();
+
+                // --- fromJson (streaming) ---
+                generateStreamingFromJson(out, recordSimpleName, components);
 
                 out.println("}");
             }
@@ -247,7 +343,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
         int idx = 0;
         for (var entry : mapping.entrySet()) {
             String comma = (idx < mapping.size() - 1) ? "," : "";
-            out.println("        java.util.Map.entry(\"" + entry.getValue() + "\", " + enumQualified + "." + entry.getKey() + ")" + comma);
+            out.println("        java.util.Map.entry(" + javaLiteral(entry.getValue()) + ", " + enumQualified + "." + entry.getKey() + ")" + comma);
             idx++;
         }
         out.println("    );");
@@ -259,7 +355,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
         idx = 0;
         for (var entry : mapping.entrySet()) {
             String comma = (idx < mapping.size() - 1) ? "," : "";
-            out.println("        java.util.Map.entry(" + enumQualified + "." + entry.getKey() + ", \"" + entry.getValue() + "\")" + comma);
+            out.println("        java.util.Map.entry(" + enumQualified + "." + entry.getKey() + ", " + javaLiteral(entry.getValue()) + ")" + comma);
             idx++;
         }
         out.println("    );");
@@ -279,34 +375,134 @@ public class JsonRecordProcessor extends AbstractProcessor {
         return sb.toString();
     }
 
-    private void generateWriteField(PrintWriter out, String fieldName, TypeMirror type, String recordName) {
+    /**
+     * Generates {@code writeTo(T, StringBuilder)} or {@code writeTo(T, JsonOutput)}. Nested
+     * records are written through their own adapter's {@code writeTo} into the same sink.
+     */
+    private void generateWriteTo(PrintWriter out, String recordSimpleName,
+                                 List<? extends RecordComponentElement> components, boolean byteSink) {
+        String sinkType = byteSink ? "JsonOutput out" : "StringBuilder sb";
+        String append = byteSink ? "out.writeByte" : "sb.append";
+        String sink = byteSink ? "out" : "sb";
+
+        out.println("    public static void writeTo(" + recordSimpleName + " obj, " + sinkType + ") {");
+        out.println("        if (obj == null) { JsonWriter.writeNull(" + sink + "); return; }");
+        if (components.isEmpty()) {
+            out.println("        " + append + "('{');");
+        }
+
+        for (int i = 0; i < components.size(); i++) {
+            RecordComponentElement comp = components.get(i);
+            String fieldName = comp.getSimpleName().toString();
+            TypeMirror fieldType = comp.asType();
+
+            if (byteSink) {
+                out.println("        out.writeBytes(PREFIX_" + i + "_UTF8);");
+            } else {
+                out.println("        sb.append(PREFIX_" + i + ");");
+            }
+            generateWriteField(out, fieldName, fieldType, byteSink);
+        }
+
+        out.println("        " + append + "('}');");
+        out.println("    }");
+        out.println();
+    }
+
+    private void generateKeyPrefixes(PrintWriter out, List<? extends RecordComponentElement> components) {
+        for (int i = 0; i < components.size(); i++) {
+            String prefix = (i == 0 ? "{" : ",") + "\"" + jsonEscape(getJsonKey(components.get(i))) + "\":";
+            out.println("    private static final String PREFIX_" + i + " = " + javaLiteral(prefix) + ";");
+            out.println("    private static final byte[] PREFIX_" + i + "_UTF8 = PREFIX_" + i
+                    + ".getBytes(java.nio.charset.StandardCharsets.UTF_8);");
+        }
+        if (!components.isEmpty()) {
+            out.println();
+        }
+    }
+
+    /**
+     * Escapes a string the way {@code JsonWriter.writeString} does, without the surrounding quotes.
+     */
+    private String jsonEscape(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders a string as an ASCII-only Java string literal for generated source.
+     */
+    private String javaLiteral(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                // Octal escapes: unicode escapes are decoded before lexing and would break the literal
+                sb.append(String.format("\\%03o", (int) c));
+            } else if (c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Emits the write call for one component, targeting the {@code sb} StringBuilder
+     * or, when {@code byteSink} is set, the {@code out} JsonOutput.
+     */
+    private void generateWriteField(PrintWriter out, String fieldName, TypeMirror type, boolean byteSink) {
         String accessor = "obj." + fieldName + "()";
+        String sink = byteSink ? "out" : "sb";
         TypeKind kind = type.getKind();
 
         switch (kind) {
-            case INT -> out.println("        JsonWriter.writeInt(" + accessor + ", sb);");
-            case LONG -> out.println("        JsonWriter.writeLong(" + accessor + ", sb);");
-            case DOUBLE -> out.println("        JsonWriter.writeDouble(" + accessor + ", sb);");
-            case FLOAT -> out.println("        JsonWriter.writeFloat(" + accessor + ", sb);");
-            case BOOLEAN -> out.println("        JsonWriter.writeBoolean(" + accessor + ", sb);");
-            case DECLARED -> generateWriteDeclaredField(out, accessor, (DeclaredType) type);
+            case INT -> out.println("        JsonWriter.writeInt(" + accessor + ", " + sink + ");");
+            case LONG -> out.println("        JsonWriter.writeLong(" + accessor + ", " + sink + ");");
+            case DOUBLE -> out.println("        JsonWriter.writeDouble(" + accessor + ", " + sink + ");");
+            case FLOAT -> out.println("        JsonWriter.writeFloat(" + accessor + ", " + sink + ");");
+            case BOOLEAN -> out.println("        JsonWriter.writeBoolean(" + accessor + ", " + sink + ");");
+            case DECLARED -> generateWriteDeclaredField(out, accessor, (DeclaredType) type, byteSink);
             default -> processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
                     "Unsupported field type: " + type + " for field " + fieldName);
         }
     }
 
-    private void generateWriteDeclaredField(PrintWriter out, String accessor, DeclaredType type) {
+    private void generateWriteDeclaredField(PrintWriter out, String accessor, DeclaredType type, boolean byteSink) {
         String typeName = ((TypeElement) type.asElement()).getQualifiedName().toString();
+        String sink = byteSink ? "out" : "sb";
 
         switch (typeName) {
-            case "java.lang.String" -> out.println("        JsonWriter.writeString(" + accessor + ", sb);");
-            case "java.lang.Integer" -> out.println("        JsonWriter.writeInteger(" + accessor + ", sb);");
-            case "java.lang.Long" -> out.println("        JsonWriter.writeLongBoxed(" + accessor + ", sb);");
-            case "java.lang.Double" -> out.println("        JsonWriter.writeDoubleBoxed(" + accessor + ", sb);");
-            case "java.lang.Float" -> out.println("        JsonWriter.writeFloatBoxed(" + accessor + ", sb);");
-            case "java.lang.Boolean" -> out.println("        JsonWriter.writeBooleanBoxed(" + accessor + ", sb);");
-            case "java.math.BigDecimal" -> out.println("        JsonWriter.writeBigDecimal(" + accessor + ", sb);");
-            case "java.math.BigInteger" -> out.println("        JsonWriter.writeBigInteger(" + accessor + ", sb);");
+            case "java.lang.String" -> out.println("        JsonWriter.writeString(" + accessor + ", " + sink + ");");
+            case "java.lang.Integer" -> out.println("        JsonWriter.writeInteger(" + accessor + ", " + sink + ");");
+            case "java.lang.Long" -> out.println("        JsonWriter.writeLongBoxed(" + accessor + ", " + sink + ");");
+            case "java.lang.Double" -> out.println("        JsonWriter.writeDoubleBoxed(" + accessor + ", " + sink + ");");
+            case "java.lang.Float" -> out.println("        JsonWriter.writeFloatBoxed(" + accessor + ", " + sink + ");");
+            case "java.lang.Boolean" -> out.println("        JsonWriter.writeBooleanBoxed(" + accessor + ", " + sink + ");");
+            case "java.math.BigDecimal" -> out.println("        JsonWriter.writeBigDecimal(" + accessor + ", " + sink + ");");
+            case "java.math.BigInteger" -> out.println("        JsonWriter.writeBigInteger(" + accessor + ", " + sink + ");");
             case "java.util.List" -> {
                 if (type.getTypeArguments().isEmpty()) {
                     processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
@@ -315,7 +511,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 }
                 TypeMirror elementType = type.getTypeArguments().getFirst();
                 String elementWriter = getElementWriterLambda(elementType);
-                out.println("        JsonWriter.writeList(" + accessor + ", sb, " + elementWriter + ");");
+                out.println("        JsonWriter.writeList(" + accessor + ", " + sink + ", " + elementWriter + ");");
             }
             case "java.util.Map" -> {
                 if (type.getTypeArguments().size() < 2) {
@@ -325,7 +521,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 }
                 TypeMirror valueType = type.getTypeArguments().get(1);
                 String valueWriter = getElementWriterLambda(valueType);
-                out.println("        JsonWriter.writeMap(" + accessor + ", sb, " + valueWriter + ");");
+                out.println("        JsonWriter.writeMap(" + accessor + ", " + sink + ", " + valueWriter + ");");
             }
             default -> {
                 // Check if it's an enum
@@ -333,14 +529,14 @@ public class JsonRecordProcessor extends AbstractProcessor {
                 if (isEnum(typeElement)) {
                     if (enumHasCustomNames(typeElement)) {
                         String serMapName = "SERIALIZE_" + toConstantName(typeElement.getSimpleName().toString());
-                        out.println("        JsonWriter.writeEnum(" + accessor + ", sb, " + serMapName + ");");
+                        out.println("        JsonWriter.writeEnum(" + accessor + ", " + sink + ", " + serMapName + ");");
                     } else {
-                        out.println("        JsonWriter.writeEnum(" + accessor + ", sb);");
+                        out.println("        JsonWriter.writeEnum(" + accessor + ", " + sink + ");");
                     }
                 } else if (isAnnotatedJsonRecord(typeElement)) {
                     // Nested @JsonRecord — delegate to its adapter (fully qualified for cross-package)
                     String adapterName = getAdapterQualifiedName(typeElement);
-                    out.println("        if (" + accessor + " == null) { sb.append(\"null\"); } else { sb.append(" + adapterName + ".toJson(" + accessor + ")); }");
+                    out.println("        " + adapterName + ".writeTo(" + accessor + ", " + sink + ");");
                 } else {
                     processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
                             "Unsupported type: " + typeName);
@@ -373,7 +569,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
                         }
                     } else if (isAnnotatedJsonRecord(te)) {
                         String adapterName = getAdapterQualifiedName(te);
-                        yield "(v, s) -> { if (v == null) { s.append(\"null\"); } else { s.append(" + adapterName + ".toJson(v)); } }";
+                        yield adapterName + "::writeTo";
                     } else {
                         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
                                 "Unsupported list/map element type: " + name);
@@ -388,7 +584,7 @@ public class JsonRecordProcessor extends AbstractProcessor {
     }
 
     private void generateReadField(PrintWriter out, String fieldName, String jsonKey, TypeMirror type) {
-        String getValue = "obj.members().get(\"" + jsonKey + "\")";
+        String getValue = "obj.members().get(" + javaLiteral(jsonKey) + ")";
         TypeKind kind = type.getKind();
 
         switch (kind) {
@@ -457,6 +653,247 @@ public class JsonRecordProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Generates {@code nextField(reader, expected)}, which consumes the next member name and
+     * returns the index of the matching component, or -1 (name not consumed) for unknown keys.
+     * Producers usually emit members in declaration order, so the key after the previous match
+     * is tried first; on a miss, dispatch on the UTF-8 length and first byte of the name narrows
+     * the candidates to (usually) one. Names are compared in the input without allocating.
+     */
+    private void generateFieldMatcher(PrintWriter out, List<? extends RecordComponentElement> components) {
+        List<String> keys = new ArrayList<>();
+        for (RecordComponentElement comp : components) {
+            keys.add(getJsonKey(comp));
+        }
+        out.println("    private static final String[] KEYS = {");
+        for (int i = 0; i < keys.size(); i++) {
+            out.println("        " + javaLiteral(keys.get(i)) + (i < keys.size() - 1 ? "," : ""));
+        }
+        out.println("    };");
+        out.println();
+
+        // length -> lead byte -> component indices
+        Map<Integer, Map<Integer, List<Integer>>> buckets = new TreeMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] utf8 = keys.get(i).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+            int lead = utf8.length == 0 ? -1 : utf8[0] & 0xFF;
+            buckets.computeIfAbsent(utf8.length, k -> new TreeMap<>())
+                    .computeIfAbsent(lead, k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        out.println("    private static int nextField(JsonReader reader, int expected) {");
+        out.println("        if (expected < KEYS.length && reader.nextNameIs(KEYS[expected])) return expected;");
+        out.println("        return switch (reader.nameLength()) {");
+        for (var byLength : buckets.entrySet()) {
+            Map<Integer, List<Integer>> byLead = byLength.getValue();
+            if (byLead.size() == 1) {
+                out.println("            case " + byLength.getKey() + " -> " + matchChain(byLead.values().iterator().next()) + ";");
+                continue;
+            }
+            out.println("            case " + byLength.getKey() + " -> switch (reader.nameLeadByte()) {");
+            for (var entry : byLead.entrySet()) {
+                out.println("                case " + byteLiteral(entry.getKey()) + " -> " + matchChain(entry.getValue()) + ";");
+            }
+            out.println("                default -> -1;");
+            out.println("            };");
+        }
+        // Escaped name: nothing can be said about it without decoding, so try every key
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            all.add(i);
+        }
+        out.println("            case -1 -> " + matchChain(all) + ";");
+        out.println("            default -> -1;");
+        out.println("        };");
+        out.println("    }");
+        out.println();
+    }
+
+    private String matchChain(List<Integer> indices) {
+        StringBuilder sb = new StringBuilder();
+        for (int i : indices) {
+            sb.append("reader.nextNameIs(KEYS[").append(i).append("]) ? ").append(i).append(" : ");
+        }
+        return sb.append("-1").toString();
+    }
+
+    private String byteLiteral(int b) {
+        if (b >= 0x20 && b < 0x7f && b != '\\' && b != '\'') {
+            return "'" + (char) b + "'";
+        }
+        return "0x" + Integer.toHexString(b);
+    }
+
+    /**
+     * Generates {@code fromJson(JsonReader)}, which binds members into locals as they
+     * are read and calls the canonical constructor once the object is closed.
+     */
+    private void generateStreamingFromJson(PrintWriter out, String recordSimpleName,
+                                           List<? extends RecordComponentElement> components) {
+        if (!components.isEmpty()) {
+            generateFieldMatcher(out, components);
+        }
+        out.println("    public static " + recordSimpleName + " fromJson(JsonReader reader) {");
+        out.println("        if (reader.readNull()) return null;");
+
+        for (RecordComponentElement comp : components) {
+            String fieldName = comp.getSimpleName().toString();
+            TypeMirror fieldType = comp.asType();
+            out.println("        " + getLocalTypeString(fieldType) + " " + fieldName + " = " + getDefaultValue(fieldType) + ";");
+            if (fieldType.getKind().isPrimitive()) {
+                out.println("        boolean " + fieldName + "$present = false;");
+            }
+        }
+
+        out.println("        reader.beginObject();");
+        if (components.isEmpty()) {
+            out.println("        while (reader.hasNext()) {");
+            out.println("            long $from = reader.position();");
+            out.println("            reader.skipName();");
+            out.println("            reader.skipValue();");
+            out.println("            SKIPPED.record(reader.position() - $from);");
+            out.println("        }");
+        } else {
+            out.println("        int $expected = 0;");
+            out.println("        while (reader.hasNext()) {");
+            out.println("            int $field = nextField(reader, $expected);");
+            out.println("            switch ($field) {");
+            for (int i = 0; i < components.size(); i++) {
+                RecordComponentElement comp = components.get(i);
+                String fieldName = comp.getSimpleName().toString();
+                TypeMirror fieldType = comp.asType();
+                String read = getReadExpression(fieldName, fieldType);
+                if (fieldType.getKind().isPrimitive()) {
+                    out.println("                case " + i + " -> { " + fieldName + " = " + read + "; " + fieldName + "$present = true; }");
+                } else {
+                    out.println("                case " + i + " -> " + fieldName + " = " + read + ";");
+                }
+            }
+            out.println("                default -> {");
+            out.println("                    long $from = reader.position();");
+            out.println("                    reader.skipName();");
+            out.println("                    reader.skipValue();");
+            out.println("                    SKIPPED.record(reader.position() - $from);");
+            out.println("                }");
+            out.println("            }");
+            out.println("            if ($field >= 0) $expected = $field + 1;");
+            out.println("        }");
+        }
+        out.println("        reader.endObject();");
+
+        for (RecordComponentElement comp : components) {
+            if (comp.asType().getKind().isPrimitive()) {
+                String fieldName = comp.getSimpleName().toString();
+                out.println("        if (!" + fieldName + "$present) throw new JsonException("
+                        + javaLiteral("Missing value for field '" + getJsonKey(comp) + "'") + ");");
+            }
+        }
+
+        out.print("        return new " + recordSimpleName + "(");
+        for (int i = 0; i < components.size(); i++) {
+            if (i > 0) out.print(", ");
+            out.print(components.get(i).getSimpleName().toString());
+        }
+        out.println(");");
+        out.println("    }");
+    }
+
+    private String getReadExpression(String fieldName, TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT -> "reader.readInt()";
+            case LONG -> "reader.readLong()";
+            case DOUBLE -> "reader.readDouble()";
+            case FLOAT -> "reader.readFloat()";
+            case BOOLEAN -> "reader.readBoolean()";
+            case DECLARED -> getReadDeclaredExpression((DeclaredType) type, "reader");
+            default -> {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Unsupported field type: " + type + " for field " + fieldName);
+                yield "null";
+            }
+        };
+    }
+
+    private String getReadDeclaredExpression(DeclaredType type, String reader) {
+        String typeName = ((TypeElement) type.asElement()).getQualifiedName().toString();
+        return switch (typeName) {
+            case "java.lang.String" -> reader + ".readString()";
+            case "java.lang.Integer" -> reader + ".readIntegerBoxed()";
+            case "java.lang.Long" -> reader + ".readLongBoxed()";
+            case "java.lang.Double" -> reader + ".readDoubleBoxed()";
+            case "java.lang.Float" -> reader + ".readFloatBoxed()";
+            case "java.lang.Boolean" -> reader + ".readBooleanBoxed()";
+            case "java.math.BigDecimal" -> reader + ".readBigDecimal()";
+            case "java.math.BigInteger" -> reader + ".readBigInteger()";
+            case "java.util.List" -> {
+                if (type.getTypeArguments().isEmpty()) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Raw List type not supported, use List<T>");
+                    yield "null";
+                }
+                yield reader + ".readList(" + getElementReaderLambda(type.getTypeArguments().getFirst()) + ")";
+            }
+            case "java.util.Map" -> {
+                if (type.getTypeArguments().size() < 2) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            "Raw Map type not supported, use Map<String, V>");
+                    yield "null";
+                }
+                yield reader + ".readMap(" + getElementReaderLambda(type.getTypeArguments().get(1)) + ")";
+            }
+            default -> {
+                TypeElement typeElement = (TypeElement) type.asElement();
+                if (isEnum(typeElement)) {
+                    if (enumHasCustomNames(typeElement)) {
+                        String deserMapName = "DESERIALIZE_" + toConstantName(typeElement.getSimpleName().toString());
+                        yield reader + ".readEnum(" + deserMapName + ")";
+                    }
+                    yield reader + ".readEnum(" + typeName + ".class)";
+                } else if (isAnnotatedJsonRecord(typeElement)) {
+                    yield getAdapterQualifiedName(typeElement) + ".fromJson(" + reader + ")";
+                }
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Unsupported type: " + typeName);
+                yield "null";
+            }
+        };
+    }
+
+    private String getElementReaderLambda(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return "r -> " + getReadDeclaredExpression((DeclaredType) type, "r");
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Unsupported list/map element type: " + type);
+        return "null";
+    }
+
+    private String getLocalTypeString(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType dt = (DeclaredType) type;
+            String name = ((TypeElement) dt.asElement()).getQualifiedName().toString();
+            if (name.equals("java.util.List") && !dt.getTypeArguments().isEmpty()) {
+                return "java.util.List<" + getTypeString(dt.getTypeArguments().getFirst()) + ">";
+            }
+            if (name.equals("java.util.Map") && dt.getTypeArguments().size() == 2) {
+                return "java.util.Map<String, " + getTypeString(dt.getTypeArguments().get(1)) + ">";
+            }
+        }
+        return getTypeString(type);
+    }
+
+    private String getDefaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT -> "0";
+            case LONG -> "0L";
+            case DOUBLE -> "0.0";
+            case FLOAT -> "0.0f";
+            case BOOLEAN -> "false";
+            default -> "null";
+        };
+    }
+
     private String getElementMapperLambda(TypeMirror type) {
         if (type.getKind() == TypeKind.DECLARED) {
             DeclaredType dt = (DeclaredType) type;
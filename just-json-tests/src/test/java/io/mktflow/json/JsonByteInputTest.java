@@ -0,0 +1,101 @@
+package io.mktflow.json;
+
+import io.mktflow.json.records.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonByteInputTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void deserializeFromBytes() {
+        byte[] json = utf8("""
+                {"id":"ORD-1","price":99.99,"quantity":5,"status":"ACTIVE"}""");
+        Order o = Json.fromJson(json, Order.class);
+        assertEquals(new Order("ORD-1", new BigDecimal("99.99"), 5, Status.ACTIVE), o);
+    }
+
+    @Test
+    void deserializeFramedSlice() {
+        byte[] frame = utf8("""
+                \u0000\u0000{"name":"Alice","age":30,"tags":["a"]}garbage""");
+        int length = frame.length - 2 - "garbage".length();
+        Person p = Json.fromJson(frame, 2, length, Person.class);
+        assertEquals(new Person("Alice", 30, List.of("a")), p);
+    }
+
+    @Test
+    void deserializeMultiByteAndEscapes() {
+        var person = new Person("René ☃ 😀", 1, List.of("tab\there", "quote\"\\", "é\\u00e9"));
+        byte[] json = utf8(Json.toJson(person));
+        assertEquals(person, Json.fromJson(json, Person.class));
+    }
+
+    @Test
+    void deserializeUnicodeEscapeFromBytes() {
+        byte[] json = utf8("""
+                {"name":"Ren\\u00e9","age":1,"tags":[]}""");
+        assertEquals("René", Json.fromJson(json, Person.class).name());
+    }
+
+    @Test
+    void deserializeFromHeapAndDirectBuffers() {
+        byte[] json = utf8("""
+                {"street":"1 Rue","city":"Paris","zipCode":"75001"}""");
+        var expected = new Address("1 Rue", "Paris", "75001");
+
+        ByteBuffer heap = ByteBuffer.allocate(json.length + 4);
+        heap.put(new byte[]{'x', 'x'}).put(json).flip().position(2);
+        assertEquals(expected, Json.fromJson(heap, Address.class));
+        assertEquals(2, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(json.length);
+        direct.put(json).flip();
+        assertEquals(expected, Json.fromJson(direct, Address.class));
+    }
+
+    @Test
+    void malformedBytesThrow() {
+        assertThrows(JsonException.class, () -> Json.fromJson(utf8("{\"name\":\"unterminated"), Person.class));
+        assertThrows(JsonException.class, () -> Json.fromJson(new byte[0], Person.class));
+        assertThrows(JsonException.class, () -> Json.fromJson(utf8("{\"name\":\"a\",\"age\":1,\"tags\":[]}x"), Person.class));
+    }
+
+    @Test
+    void deserializeFromMappedFile(@TempDir Path dir) throws Exception {
+        var person = new Person("Zoë \"☃\" \\ 😀", 42, List.of("a", "b\n", "é".repeat(40)));
+        Path file = Files.writeString(dir.resolve("person.json"), "  " + Json.toJson(person) + "\n");
+        assertEquals(person, Json.fromJson(file, Person.class));
+        assertEquals(Json.parse(Files.readString(file)), Json.parseFile(file));
+
+        Path escaped = Files.writeString(dir.resolve("escaped.json"), """
+                {"n\\u0061me":"a\\u00e9","age":-0,"tags":[],"extra":{"x":[1e3,true,null]}}""");
+        assertEquals(new Person("aé", 0, List.of()), Json.fromJson(escaped, Person.class));
+
+        Path empty = Files.write(dir.resolve("empty.json"), new byte[0]);
+        assertThrows(JsonException.class, () -> Json.fromJson(empty, Person.class));
+        Path truncated = Files.writeString(dir.resolve("truncated.json"), "{\"name\":\"a");
+        assertThrows(JsonException.class, () -> Json.parseFile(truncated));
+        Path trailing = Files.writeString(dir.resolve("trailing.json"), "[1] [2]");
+        var e = assertThrows(JsonException.class, () -> Json.parseFile(trailing));
+        assertTrue(e.getMessage().contains("position 4"), e.getMessage());
+    }
+}
@@ -0,0 +1,226 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.BufferPool;
+import io.mktflow.json.internal.JsonOutput;
+import io.mktflow.json.internal.JsonWriter;
+import io.mktflow.json.records.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonByteOutputTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static void assertSameAsString(Object obj) {
+        byte[] expected = Json.toJson(obj).getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, Json.toJsonBytes(obj));
+    }
+
+    @Test
+    void bytesMatchStringOutput() {
+        assertSameAsString(new Person("Alice", 30, List.of("dev", "java")));
+        assertSameAsString(new AllTypes(1, 2L, 3.14, 1.5f, true, null, 20L, null, 1.5f, false, "hello",
+                new BigDecimal("123.456"), new BigInteger("999"), Status.PENDING));
+        assertSameAsString(new WithMap("scores", Map.of("math", 95, "english", 88)));
+        assertSameAsString(new SnakeCaseRecord("a", "b", "c", BigDecimal.TEN, true, Priority.LOW));
+        assertSameAsString(new Empty());
+        assertSameAsString(null);
+    }
+
+    @Test
+    void bytesEncodeUnicodeAndEscapes() {
+        assertSameAsString(new Person("René ☃ 😀", 1, List.of("line1\nline2", "tab\t\"q\"\\", "\u0001\u001f")));
+    }
+
+    @Test
+    void nestedRecordsWriteIntoSameSink() {
+        var a1 = new Address("street1", "city1", "zip1");
+        var a2 = new Address("street2", "city2", "zip2");
+        assertSameAsString(new Nested("multi", a1, List.of(a1, a2)));
+        assertSameAsString(new Nested("none", null, null));
+    }
+
+    @Test
+    void streamLargerThanBuffer() throws IOException {
+        var tags = new ArrayList<String>();
+        for (int i = 0; i < 5_000; i++) {
+            tags.add("tag-" + i + "-é");
+        }
+        var person = new Person("Big", 1, tags);
+        var stream = new ByteArrayOutputStream();
+        Json.toJson(person, stream);
+        assertEquals(Json.toJson(person), stream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeToChannel() throws IOException {
+        var order = new Order("ORD-1", new BigDecimal("99.99"), 5, Status.ACTIVE);
+        var stream = new ByteArrayOutputStream();
+        Json.toJson(order, Channels.newChannel(stream));
+        assertEquals(order, Json.fromJson(stream.toByteArray(), Order.class));
+    }
+
+    @Test
+    void writeIntoPooledBuffersAndSegments() {
+        var tags = new ArrayList<String>();
+        for (int i = 0; i < 2_000; i++) {
+            tags.add("tag-" + i + "-é😀");
+        }
+        var person = new Person("Spans", 3, tags);
+        byte[] expected = Json.toJsonBytes(person);
+
+        var filled = new ArrayList<ByteBuffer>();
+        ByteBuffer last = Json.toJson(person, ByteBuffer.allocateDirect(1000).put((byte) ' '), full -> {
+            filled.add(full);
+            return ByteBuffer.allocateDirect(1000);
+        });
+        filled.add(last);
+        var written = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : filled) {
+            byte[] bytes = new byte[buffer.flip().remaining()];
+            buffer.get(bytes);
+            written.writeBytes(bytes);
+        }
+        assertEquals(" " + new String(expected, StandardCharsets.UTF_8), written.toString(StandardCharsets.UTF_8));
+
+        try (var arena = Arena.ofConfined()) {
+            var segments = new ArrayList<MemorySegment>(List.of(arena.allocate(777)));
+            long tail = Json.toJson(person, segments.getFirst(), full -> {
+                segments.add(arena.allocate(777));
+                return segments.getLast();
+            });
+            var out = new ByteArrayOutputStream();
+            for (int i = 0; i < segments.size(); i++) {
+                var segment = i < segments.size() - 1 ? segments.get(i) : segments.get(i).asSlice(0, tail);
+                out.writeBytes(segment.toArray(ValueLayout.JAVA_BYTE));
+            }
+            assertArrayEquals(expected, out.toByteArray());
+        }
+
+        assertThrows(JsonException.class, () -> Json.toJson(person, ByteBuffer.allocate(16), full -> null));
+    }
+
+    @Test
+    void writeIntoHeapAndLargeSegments(@TempDir Path dir) throws IOException {
+        var person = new Person("Segments", 4, List.of("é😀", "x".repeat(20_000)));
+        byte[] expected = Json.toJsonBytes(person);
+
+        // Heap segments over arrays other than byte[] have no ByteBuffer view
+        var words = MemorySegment.ofArray(new long[4096]);
+        long tail = Json.toJson(person, words, full -> { throw new AssertionError("segment is large enough"); });
+        assertArrayEquals(expected, words.asSlice(0, tail).toArray(ValueLayout.JAVA_BYTE));
+
+        // Neither do segments over 2 GiB; the file stays sparse
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(dir.resolve("large.json"), StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE)) {
+            var large = channel.map(FileChannel.MapMode.READ_WRITE, 0, 3L << 30, arena);
+            tail = Json.toJson(person, large, full -> { throw new AssertionError("segment is large enough"); });
+            assertArrayEquals(expected, large.asSlice(0, tail).toArray(ValueLayout.JAVA_BYTE));
+        }
+
+        assertThrows(JsonException.class, () -> Json.toJson(person, MemorySegment.ofArray(new byte[16]), full -> null));
+    }
+
+    @Test
+    void streamFailureIsPropagated() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("boom");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("boom");
+            }
+        };
+        assertThrows(IOException.class, () -> Json.toJson(new Empty(), failing));
+    }
+
+    @Test
+    void buffersAreReusedAcrossCalls() {
+        var person = new Person("Pooled", 2, List.of("a", "b"));
+        Json.toJson(person);
+        Json.toJsonBytes(person);
+        long charHits = BufferPool.CHARS.hits();
+        long byteHits = BufferPool.BYTES.hits();
+        assertEquals("{\"name\":\"Pooled\",\"age\":2,\"tags\":[\"a\",\"b\"]}", Json.toJson(person));
+        assertSameAsString(person);
+        assertTrue(BufferPool.CHARS.hits() > charHits);
+        assertTrue(BufferPool.BYTES.hits() > byteHits);
+    }
+
+    @Test
+    void pooledBuffersAreSafeAcrossVirtualThreads() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 200; i++) {
+                var person = new Person("p" + i, i, List.of("t" + i));
+                futures.add(executor.submit(() -> Json.fromJson(Json.toJson(person), Person.class).equals(person)
+                        && Json.fromJson(Json.toJsonBytes(person), Person.class).equals(person)));
+            }
+            for (var future : futures) {
+                assertTrue(future.get());
+            }
+        }
+    }
+
+    private static void assertDigits(String expected, Consumer<JsonOutput> write) {
+        var out = new JsonOutput();
+        write.accept(out);
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void numbersMatchJdkFormatting() {
+        for (long v : new long[]{0, 1, -1, 9, 10, 99, 100, -100, 12345, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L, 999_999_999_999L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertDigits(Long.toString(v), out -> JsonWriter.writeLong(v, out));
+            assertDigits(Integer.toString((int) v), out -> JsonWriter.writeInt((int) v, out));
+        }
+        for (double v : new double[]{0.0, -0.0, 1.0, -1.5, 0.1, 0.001, 0.0001, 1e7, 9999999.0, 1e-3, 123.456,
+                Double.MIN_VALUE, Double.MAX_VALUE, Double.MIN_NORMAL, 2e-323, 1e23, 5e-324, 9007199254740993.0,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            assertDigits(Double.toString(v), out -> JsonWriter.writeDouble(v, out));
+            assertDigits(Float.toString((float) v), out -> JsonWriter.writeFloat((float) v, out));
+        }
+        var random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            float f = Float.intBitsToFloat(random.nextInt());
+            long l = random.nextLong() >> random.nextInt(64);
+            assertDigits(Double.toString(d), out -> JsonWriter.writeDouble(d, out));
+            assertDigits(Float.toString(f), out -> JsonWriter.writeFloat(f, out));
+            assertDigits(Long.toString(l), out -> JsonWriter.writeLong(l, out));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -124,4 +125,70 @@ class JsonDeserializationTest {
         assertNull(n.address());
         assertNull(n.otherAddresses());
     }
+
+    @Test
+    void deserializeFieldsInAnyOrder() {
+        String json = """
+                {"tags":["x"],"age":41,"name":"Carol"}""";
+        Person p = Json.fromJson(json, Person.class);
+        assertEquals(new Person("Carol", 41, List.of("x")), p);
+    }
+
+    @Test
+    void deserializeSkipsUnknownNestedValues() {
+        String json = """
+                {"label":"home","meta":{"tags":["a",{"deep":[1,2,null]}],"flag":true},\
+                "address":{"street":"1 Rue","city":"Paris","zipCode":"75001","geo":[48.8,2.3]},"otherAddresses":[]}""";
+        Nested n = Json.fromJson(json, Nested.class);
+        assertEquals("home", n.label());
+        assertEquals(new Address("1 Rue", "Paris", "75001"), n.address());
+        assertEquals(List.of(), n.otherAddresses());
+    }
+
+    @Test
+    void deserializeEscapedKeyNames() {
+        String json = """
+                {"n\\u0061me":"Dave","\\u0061ge":7,"ta\\u0067s":[]}""";
+        assertEquals(new Person("Dave", 7, List.of()), Json.fromJson(json, Person.class));
+        assertEquals(new Person("Dave", 7, List.of()),
+                Json.fromJson(json.getBytes(StandardCharsets.UTF_8), Person.class));
+    }
+
+    @Test
+    void deserializeUnknownKeysSharingLengthAndPrefix() {
+        String json = """
+                {"nope":1,"name":"Eve","agE":2,"age":3,"tagz":null,"tags":["t"],"names":"x"}""";
+        assertEquals(new Person("Eve", 3, List.of("t")), Json.fromJson(json, Person.class));
+        assertEquals(new Person("Eve", 3, List.of("t")),
+                Json.fromJson(json.getBytes(StandardCharsets.UTF_8), Person.class));
+    }
+
+    @Test
+    void unknownFieldsAreSkippedAndCounted() {
+        String extra = "\"extra\":{\"a\":[1,{\"b\":\"}]\"}],\"c\":\"\\\"{\"}";
+        String more = "\"more\" : [true,null]";
+        String json = "{\"name\":\"Eve\"," + extra + ",\"age\":3,\"tags\":[], " + more + "}";
+        var counter = Json.skipped(Person.class);
+        long fields = counter.fields();
+        long bytes = counter.bytes();
+
+        assertEquals(new Person("Eve", 3, List.of()), Json.fromJson(json, Person.class));
+        assertEquals(new Person("Eve", 3, List.of()), Json.fromJson(json.getBytes(StandardCharsets.UTF_8), Person.class));
+        assertEquals(fields + 4, counter.fields());
+        assertEquals(bytes + 2L * (extra.length() + more.length()), counter.bytes());
+    }
+
+    @Test
+    void deserializeProjectionsUsingSourceNames() {
+        String order = """
+                {"id":"ORD-1","price":99.99,"quantity":5,"status":"ACTIVE","lines":[{"sku":"a"}]}""";
+        assertEquals(new OrderSummary("ORD-1", Status.ACTIVE), Json.fromJson(order, OrderSummary.class));
+        assertEquals(new OrderSummary("ORD-1", Status.ACTIVE),
+                Json.fromJson(order.getBytes(StandardCharsets.UTF_8), OrderSummary.class));
+
+        String snake = """
+                {"name":"n","first_name":"Ada","last_name":"L","cost_min":1,"is_active":true,"priority":"low_priority"}""";
+        assertEquals(new SnakeCaseSummary("Ada", true), Json.fromJson(snake, SnakeCaseSummary.class));
+        assertEquals("{\"first_name\":\"Ada\",\"is_active\":true}", Json.toJson(new SnakeCaseSummary("Ada", true)));
+    }
 }
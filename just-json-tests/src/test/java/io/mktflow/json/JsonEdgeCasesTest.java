@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +40,25 @@ class JsonEdgeCasesTest {
         assertEquals(person, restored);
     }
 
+    @Test
+    void controlCharactersUseShortOrUnicodeEscapes() {
+        var sb = new StringBuilder();
+        for (char c = 0; c < 0x80; c++) {
+            sb.append(c);
+        }
+        String all = sb.toString();
+        String name = "x".repeat(10_000) + all + "\u00e9\ud83d\ude00" + all;
+        var person = new Person(name, 1, List.of(all));
+        String json = Json.toJson(person);
+        assertTrue(json.contains("\\u0000\\u0001"));
+        assertTrue(json.contains("\\u001f !\\\"#"));
+        assertTrue(json.contains("\\b\\t\\n\\u000b\\f\\r"));
+        assertTrue(json.contains("[\\\\]"));
+        assertTrue(json.contains("}~\u007f"));
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), Json.toJsonBytes(person));
+        assertEquals(person, Json.fromJson(json, Person.class));
+    }
+
     @Test
     void emptyString() {
         var person = new Person("", 0, List.of(""));
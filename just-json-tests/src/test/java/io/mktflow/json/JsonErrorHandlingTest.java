@@ -15,7 +15,7 @@ class JsonErrorHandlingTest {
 
     @Test
     void nullInput() {
-        assertThrows(JsonException.class, () -> Json.fromJson(null, Person.class));
+        assertThrows(JsonException.class, () -> Json.fromJson((String) null, Person.class));
     }
 
     @Test
@@ -58,6 +58,12 @@ class JsonErrorHandlingTest {
         assertThrows(JsonException.class, () -> Json.fromJson("{\"name\":\"a\",\"age\":1,\"tags\":[1,]}", Person.class));
     }
 
+    @Test
+    void malformedUnknownMember() {
+        assertThrows(JsonException.class, () -> Json.fromJson("{\"name\":\"a\",\"age\":1,\"tags\":[],\"x\":[1}}", Person.class));
+        assertThrows(JsonException.class, () -> Json.fromJson("{\"name\":\"a\",\"age\":1,\"tags\":[],\"x\":[1 2,,]}", Person.class));
+    }
+
     @Test
     void typeMismatchStringForInt() {
         String json = """
@@ -95,4 +101,16 @@ class JsonErrorHandlingTest {
     void extraContentAfterJson() {
         assertThrows(JsonException.class, () -> Json.fromJson("{\"name\":\"a\",\"age\":1,\"tags\":[]}extra", Person.class));
     }
+
+    @Test
+    void missingPrimitiveField() {
+        String json = """
+                {"name":"Alice","tags":[]}""";
+        assertThrows(JsonException.class, () -> Json.fromJson(json, Person.class));
+    }
+
+    @Test
+    void arrayForRecord() {
+        assertThrows(JsonException.class, () -> Json.fromJson("[]", Person.class));
+    }
 }
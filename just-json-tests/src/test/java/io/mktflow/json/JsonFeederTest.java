@@ -0,0 +1,79 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonFeeder;
+import io.mktflow.json.records.Person;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFeederTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static List<Person> people() {
+        return List.of(
+                new Person("René \"q\" \\ ☃ 😀", 1, List.of("a}", "[b")),
+                new Person("\u0001\n", -20, List.of()),
+                new Person("x".repeat(20_000), 3, List.of("y")));
+    }
+
+    @Test
+    void valuesSplitAtEveryBoundaryAreDelivered() {
+        List<Person> expected = people();
+        var text = new StringBuilder(" ");
+        expected.forEach(person -> text.append(Json.toJson(person)).append("\r\n"));
+        text.append("null\t").append(Json.toJson(expected.getFirst())).append(Json.toJson(expected.get(1)));
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        var all = new ArrayList<>(expected);
+        all.addAll(Arrays.asList(null, expected.getFirst(), expected.get(1)));
+        for (int chunk : new int[] {1, 2, 3, 7, 64, 8191, bytes.length}) {
+            var received = new ArrayList<Person>();
+            JsonFeeder<Person> feeder = Json.feeder(Person.class, received::add);
+            for (int i = 0; i < bytes.length; i += chunk) {
+                var buffer = ByteBuffer.allocateDirect(Math.min(chunk, bytes.length - i));
+                feeder.feed(buffer.put(bytes, i, buffer.capacity()).flip());
+            }
+            feeder.end();
+            assertEquals(all, received, "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    void valuesAreDeliveredAsSoonAsTheyComplete() {
+        var received = new ArrayList<Person>();
+        JsonFeeder<Person> feeder = Json.feeder(Person.class, received::add);
+        String json = Json.toJson(people().getFirst());
+        feeder.feed(ByteBuffer.wrap(json.substring(0, 10).getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of(), received);
+        feeder.feed(ByteBuffer.wrap(json.substring(10).getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of(people().getFirst()), received);
+    }
+
+    @Test
+    void invalidValuesAreReportedAndSkipped() {
+        var received = new ArrayList<Person>();
+        JsonFeeder<Person> feeder = Json.feeder(Person.class, received::add);
+        String valid = "{\"name\":\"a\",\"age\":1,\"tags\":[]}";
+        var e = assertThrows(JsonException.class,
+                () -> feeder.feed(ByteBuffer.wrap((valid + " {\"name\":\"a\",\"age\":\"x\",\"tags\":[]} " + valid)
+                        .getBytes(StandardCharsets.UTF_8))));
+        assertTrue(e.getMessage().contains("position " + (valid.length() + 1)), e.getMessage());
+        feeder.feed(ByteBuffer.allocate(0));
+        assertEquals(2, received.size());
+
+        JsonFeeder<Person> unterminated = Json.feeder(Person.class, received::add);
+        unterminated.feed(ByteBuffer.wrap("{\"name\":\"a".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(JsonException.class, unterminated::end);
+    }
+}
@@ -0,0 +1,80 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLazyParseTest {
+
+    private static final String DOC = """
+            {
+              "id": 42,
+              "name": "caf\\u00e9 \\"au lait\\"",
+              "price": -1.5e3,
+              "tags": ["a", "b,c", [], {}],
+              "nested": {"deep": [1, {"x": null}, true, false]},
+              "k\\u00e9y": "escaped key",
+              "unicode": "é ☃ 😀"
+            }
+            """;
+
+    @Test
+    void lazyTreeEqualsEagerTree() {
+        JsonValue eager = Json.parse(DOC);
+        assertEquals(eager, Json.parseLazy(DOC));
+        assertEquals(eager, Json.parseLazy(DOC.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(eager.hashCode(), Json.parseLazy(DOC).hashCode());
+        assertEquals(new JsonValue.JsonString("x"), Json.parseLazy("  \"x\"  "));
+
+        String duplicates = "{\"a\": 1, \"b\": [2], \"a\": {\"c\": 3}, \"\\u0061\": 4}";
+        JsonValue lazy = Json.parseLazy(duplicates);
+        assertEquals(Json.parse(duplicates), lazy);
+        assertEquals(Json.parse(duplicates).toString(), lazy.toString());
+        var members = ((JsonValue.JsonObject) lazy).members();
+        assertEquals(2, members.size());
+        assertEquals(List.of("a", "b"), List.copyOf(members.keySet()));
+        assertEquals(new JsonValue.JsonNumber("4"), members.get("a"));
+    }
+
+    @Test
+    void lazyTreeSupportsLookupsAndPatternMatching() {
+        for (JsonValue root : List.of(Json.parseLazy(DOC), Json.parseLazy(DOC.getBytes(StandardCharsets.UTF_8)))) {
+            if (!(root instanceof JsonValue.JsonObject(var members))) {
+                fail("Expected an object");
+                return;
+            }
+            assertEquals(7, members.size());
+            assertEquals(new JsonValue.JsonNumber("42"), members.get("id"));
+            assertEquals(new JsonValue.JsonString("café \"au lait\""), members.get("name"));
+            assertEquals(new JsonValue.JsonString("escaped key"), members.get("kéy"));
+            assertEquals(new JsonValue.JsonString("é ☃ 😀"), members.get("unicode"));
+            assertNull(members.get("missing"));
+            assertFalse(members.containsKey("deep"));
+            assertEquals(List.of("id", "name", "price", "tags", "nested", "kéy", "unicode"), List.copyOf(members.keySet()));
+
+            var nested = (JsonValue.JsonObject) members.get("nested");
+            var deep = (JsonValue.JsonArray) nested.members().get("deep");
+            assertEquals(4, deep.elements().size());
+            assertEquals(new JsonValue.JsonNull(), ((JsonValue.JsonObject) deep.elements().get(1)).members().get("x"));
+            assertEquals(new JsonValue.JsonBoolean(false), deep.elements().get(3));
+            var tags = (JsonValue.JsonArray) members.get("tags");
+            assertEquals(new JsonValue.JsonString("b,c"), tags.elements().get(1));
+            assertTrue(((JsonValue.JsonArray) tags.elements().get(2)).elements().isEmpty());
+        }
+    }
+
+    @Test
+    void lazyParseValidatesTheWholeDocument() {
+        assertThrows(JsonException.class, () -> Json.parseLazy("{\"a\": [1, 2}"));
+        assertThrows(JsonException.class, () -> Json.parseLazy("{\"a\": 1} x"));
+        assertThrows(JsonException.class, () -> Json.parseLazy("{\"a\": \"\\q\"}"));
+        assertThrows(JsonException.class, () -> Json.parseLazy("[1.]"));
+        assertThrows(JsonException.class, () -> Json.parseLazy("{1: 2}"));
+        assertThrows(JsonException.class, () -> Json.parseLazy(" "));
+        assertThrows(JsonException.class, () -> Json.parseLazy((byte[]) null));
+    }
+}
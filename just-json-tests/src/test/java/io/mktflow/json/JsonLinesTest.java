@@ -0,0 +1,84 @@
+package io.mktflow.json;
+
+import io.mktflow.json.records.Person;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static List<Person> people(int count) {
+        var people = new ArrayList<Person>();
+        for (int i = 0; i < count; i++) {
+            people.add(new Person("person " + i + " \n é", i, List.of("t" + (i % 10))));
+        }
+        return people;
+    }
+
+    private static byte[] writeLines(List<Person> people) throws IOException {
+        var stream = new ByteArrayOutputStream();
+        Json.writeLines(people.stream(), stream);
+        return stream.toByteArray();
+    }
+
+    @Test
+    void linesRoundTripAcrossManyChunks(@TempDir Path dir) throws IOException {
+        List<Person> expected = people(40_000); // several MiB, so decoding spans many chunks
+        byte[] bytes = writeLines(expected);
+        assertEquals(expected.size(), new String(bytes, StandardCharsets.UTF_8).lines().count());
+
+        try (Stream<Person> lines = Json.readLines(new ByteArrayInputStream(bytes), Person.class)) {
+            assertEquals(expected, lines.toList());
+        }
+        try (Stream<Person> lines = Json.readLines(new ByteArrayInputStream(bytes), Person.class, false)) {
+            assertEquals(expected, lines.sorted(Comparator.comparingInt(Person::age)).toList());
+        }
+        Path file = Files.write(dir.resolve("people.ndjson"), bytes);
+        try (Stream<Person> lines = Json.readLines(file, Person.class)) {
+            assertEquals(expected.size(), lines.count());
+        }
+    }
+
+    @Test
+    void blankLinesCrlfAndLongLinesAreHandled() throws IOException {
+        var big = new Person("x".repeat(3 << 20), 1, List.of());
+        String json = "\r\n" + Json.toJson(people(1).getFirst()) + "\r\n  \n" + Json.toJson(big) + "\n\n" + Json.toJson(people(1).getFirst());
+        try (Stream<Person> lines = Json.readLines(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Person.class)) {
+            assertEquals(List.of(people(1).getFirst(), big, people(1).getFirst()), lines.toList());
+        }
+        try (Stream<Person> lines = Json.readLines(InputStream.nullInputStream(), Person.class)) {
+            assertEquals(0, lines.count());
+        }
+    }
+
+    @Test
+    void invalidLinesReportTheirOffset() {
+        String valid = "{\"name\":\"a\",\"age\":1,\"tags\":[]}\n";
+        String json = valid + valid + "{\"name\":\"a\",\"age\":1,\"tags\":[]} {}\n" + valid;
+        var e = assertThrows(JsonException.class, () -> {
+            try (Stream<Person> lines = Json.readLines(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Person.class)) {
+                lines.toList();
+            }
+        });
+        assertTrue(e.getMessage().contains("offset " + 2 * valid.length()), e.getMessage());
+    }
+}
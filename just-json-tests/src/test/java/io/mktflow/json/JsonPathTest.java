@@ -0,0 +1,97 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonTokenizer;
+import io.mktflow.json.internal.JsonValue;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPathTest {
+
+    private static final String DOC = """
+            {
+              "skip": {"a": [1, "]}\\"", {"b": "{["}], "c": {}},
+              "orders": [
+                {"id": 1, "total": 10.5},
+                {"id": 2, "total": 20, "lines": [{"sku": "x"}, {"sku": "y"}]}
+              ],
+              "a/b": 1,
+              "m~n": 2,
+              "": "empty key",
+              "k\\u00e9y": true
+            }
+            """;
+
+    @Test
+    void extractsValuesAtPointers() {
+        for (var source : new Object[] {DOC, DOC.getBytes(StandardCharsets.UTF_8)}) {
+            assertEquals(new JsonValue.JsonNumber("20"), extract(source, "/orders/1/total"));
+            assertEquals(new JsonValue.JsonString("y"), extract(source, "/orders/1/lines/1/sku"));
+            assertEquals(Json.parse("{\"id\": 1, \"total\": 10.5}"), extract(source, "/orders/0"));
+            assertEquals(new JsonValue.JsonNumber("1"), extract(source, "/a~1b"));
+            assertEquals(new JsonValue.JsonNumber("2"), extract(source, "/m~0n"));
+            assertEquals(new JsonValue.JsonString("empty key"), extract(source, "/"));
+            assertEquals(new JsonValue.JsonBoolean(true), extract(source, "/kéy"));
+            assertEquals(Json.parse(DOC), extract(source, ""));
+        }
+    }
+
+    @Test
+    void missingPathsReturnNull() {
+        assertNull(Json.extract(DOC, "/missing"));
+        assertNull(Json.extract(DOC, "/orders/2"));
+        assertNull(Json.extract(DOC, "/orders/-"));
+        assertNull(Json.extract(DOC, "/orders/01"));
+        assertNull(Json.extract(DOC, "/orders/0/total/x"));
+        assertNull(Json.extract(DOC, "/skip/c/x"));
+        assertNull(Json.extract("[]", "/0"));
+    }
+
+    @Test
+    void invalidPointersAreRejected() {
+        assertThrows(JsonException.class, () -> JsonPath.compile("orders"));
+        assertThrows(JsonException.class, () -> JsonPath.compile("/a~2"));
+        assertThrows(JsonException.class, () -> JsonPath.compile("/a~"));
+        assertEquals(JsonPath.compile("/orders/1"), JsonPath.compile("/orders/1"));
+    }
+
+    @Test
+    void skipValueMatchesBracketsWithAndWithoutIndex() {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            sb.append("{\"s\": \"}]\\\\\", \"n\": [[], {\"x\": [").append(i).append("]}]},\n  ");
+        }
+        String json = sb.append("\"end\"]").toString();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (JsonTokenizer tokenizer : new JsonTokenizer[] {
+                JsonTokenizer.of(json), JsonTokenizer.of(bytes, 0, bytes.length), JsonTokenizer.indexed(bytes, 0, bytes.length)}) {
+            tokenizer.skipValue();
+            assertEquals(json.length(), tokenizer.position());
+        }
+        assertEquals(new JsonValue.JsonString("end"), JsonPath.compile("/200").extract(bytes));
+        assertThrows(JsonException.class, () -> JsonTokenizer.of("{\"a\": [1}").skipValue());
+    }
+
+    @Test
+    void skipValueRejectsMismatchedBracketsAndSeparators() {
+        String deep = "[".repeat(70) + "{\"k\": 1}" + "]".repeat(70);
+        String padding = " ".repeat(1024);
+        for (String bad : new String[] {"[1}}", "{\"a\": [1 2,,]}", "{\"a\" 1}", "[\"a\": 1]", "{1: 2}",
+                "[[1]}", "{\"a\": 1,}", deep.replace("}]", "]]")}) {
+            byte[] bytes = (bad + padding).getBytes(StandardCharsets.UTF_8);
+            for (JsonTokenizer tokenizer : new JsonTokenizer[] {
+                    JsonTokenizer.of(bad), JsonTokenizer.of(bytes, 0, bytes.length), JsonTokenizer.indexed(bytes, 0, bytes.length)}) {
+                assertThrows(JsonException.class, tokenizer::skipValue, bad);
+            }
+        }
+        JsonTokenizer tokenizer = JsonTokenizer.of(deep);
+        tokenizer.skipValue();
+        assertEquals(deep.length(), tokenizer.position());
+    }
+
+    private static JsonValue extract(Object source, String pointer) {
+        return source instanceof String s ? Json.extract(s, pointer) : Json.extract((byte[]) source, pointer);
+    }
+}
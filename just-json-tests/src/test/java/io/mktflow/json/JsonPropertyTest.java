@@ -1,12 +1,14 @@
 package io.mktflow.json;
 
 import io.mktflow.json.internal.JsonValue;
+import io.mktflow.json.records.EscapedKeys;
 import io.mktflow.json.records.Priority;
 import io.mktflow.json.records.SnakeCaseRecord;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -83,6 +85,24 @@ class JsonPropertyTest {
         assertThrows(JsonException.class, () -> Json.fromJson(json, SnakeCaseRecord.class));
     }
 
+    @Test
+    void serializeKeysThatNeedEscaping() {
+        var r = new EscapedKeys("a", 2, "b", true);
+        assertEquals("""
+                {"say \\"hi\\"":"a","back\\\\slash":2,"café":"b","line\\nbreak":true}""", Json.toJson(r));
+        assertEquals(r, Json.fromJson(Json.toJson(r), EscapedKeys.class));
+        assertEquals(r, Json.fromJson(Json.toJsonBytes(r), EscapedKeys.class));
+    }
+
+    @Test
+    void deserializeNonAsciiKeysOutOfOrder() {
+        String json = """
+                {"line\\nbreak":false,"caf\\u00e9":"c","café":"d","back\\\\slash":5,"say \\"hi\\"":"q"}""";
+        var expected = new EscapedKeys("q", 5, "d", false);
+        assertEquals(expected, Json.fromJson(json, EscapedKeys.class));
+        assertEquals(expected, Json.fromJson(json.getBytes(StandardCharsets.UTF_8), EscapedKeys.class));
+    }
+
     @Test
     void jsonParseLowLevel() {
         String json = """
@@ -0,0 +1,125 @@
+package io.mktflow.json;
+
+import io.mktflow.json.records.Person;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonPublishArrayTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    /** Records every signal and requests nothing on its own. */
+    private static final class Recorder implements Flow.Subscriber<ByteBuffer> {
+        Flow.Subscription subscription;
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        boolean complete;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            chunks.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            complete = true;
+        }
+
+        String text() {
+            var out = new ByteArrayOutputStream();
+            for (ByteBuffer chunk : chunks) {
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.duplicate().get(bytes);
+                out.writeBytes(bytes);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Person person(int i) {
+        return new Person("person " + i + " é", i, List.of("t" + i));
+    }
+
+    @Test
+    void chunksAreEncodedOnlyAsRequested() {
+        var pulled = new AtomicInteger();
+        Iterator<Person> people = IntStream.range(0, 5_000).peek(i -> pulled.incrementAndGet()).mapToObj(JsonPublishArrayTest::person).iterator();
+        var recorder = new Recorder();
+        Json.publishArray(people, Person.class).subscribe(recorder);
+        assertEquals(0, pulled.get());
+
+        recorder.subscription.request(1);
+        assertEquals(1, recorder.chunks.size());
+        assertTrue(pulled.get() < 5_000, "pulled " + pulled.get());
+        assertEquals(16 * 1024, recorder.chunks.getFirst().remaining());
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        assertTrue(recorder.complete);
+        List<Person> expected = IntStream.range(0, 5_000).mapToObj(JsonPublishArrayTest::person).toList();
+        assertEquals(expected, Json.streamArray(recorder.text().getBytes(StandardCharsets.UTF_8), Person.class).toList());
+    }
+
+    @Test
+    void emptyAndNullValuesAreEncoded() {
+        var recorder = new Recorder();
+        Json.publishArray(Stream.<Person>empty(), Person.class).subscribe(recorder);
+        recorder.subscription.request(3);
+        assertEquals("[]", recorder.text());
+        assertTrue(recorder.complete);
+
+        var withNull = new Recorder();
+        Json.publishArray(Stream.of(person(1), null), Person.class).subscribe(withNull);
+        withNull.subscription.request(1);
+        assertEquals("[" + Json.toJson(person(1)) + ",null]", withNull.text());
+    }
+
+    @Test
+    void cancellationAndInvalidDemandCloseTheSource() {
+        var closed = new AtomicInteger();
+        var recorder = new Recorder();
+        Json.publishArray(IntStream.range(0, 100_000).mapToObj(JsonPublishArrayTest::person).onClose(closed::incrementAndGet), Person.class)
+                .subscribe(recorder);
+        recorder.subscription.request(2);
+        recorder.subscription.cancel();
+        recorder.subscription.request(5);
+        assertEquals(2, recorder.chunks.size());
+        assertEquals(1, closed.get());
+        assertFalse(recorder.complete);
+
+        var invalid = new Recorder();
+        var publisher = Json.publishArray(Stream.of(person(1)), Person.class);
+        publisher.subscribe(invalid);
+        invalid.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, invalid.error);
+
+        var second = new Recorder();
+        publisher.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+    }
+}
@@ -0,0 +1,190 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonParser;
+import io.mktflow.json.internal.JsonReader;
+import io.mktflow.json.internal.JsonToken;
+import io.mktflow.json.internal.JsonTokenizer;
+import io.mktflow.json.internal.JsonValue;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonReaderTest {
+
+    @Test
+    void readObjectMembers() {
+        var reader = new JsonReader("""
+                {"name":"Alice","age":30,"active":true,"nickname":null}""");
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("name", reader.nextName());
+        assertEquals("Alice", reader.readString());
+        assertTrue(reader.hasNext());
+        assertEquals("age", reader.nextName());
+        assertEquals(30, reader.readInt());
+        assertTrue(reader.hasNext());
+        assertEquals("active", reader.nextName());
+        assertTrue(reader.readBoolean());
+        assertTrue(reader.hasNext());
+        assertEquals("nickname", reader.nextName());
+        assertNull(reader.readString());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        reader.endDocument();
+    }
+
+    @Test
+    void readArrayElements() {
+        var reader = new JsonReader(" [ 1 , 2 , 3 ] ");
+        var values = new ArrayList<Integer>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(reader.readInt());
+        }
+        reader.endArray();
+        reader.endDocument();
+        assertEquals(List.of(1, 2, 3), values);
+    }
+
+    @Test
+    void peekDoesNotConsume() {
+        var reader = new JsonReader("[\"a\",1]");
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        assertEquals(JsonToken.Type.STRING, reader.peek());
+        assertEquals(JsonToken.Type.STRING, reader.peek());
+        assertEquals("a", reader.readString());
+        assertTrue(reader.hasNext());
+        assertEquals(JsonToken.Type.NUMBER, reader.peek());
+        assertEquals(1L, reader.readLong());
+    }
+
+    @Test
+    void skipNestedValue() {
+        var reader = new JsonReader("""
+                {"skip":{"a":[1,{"b":"}"}],"c":null},"keep":42}""");
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertTrue(reader.hasNext());
+        assertEquals("keep", reader.nextName());
+        assertEquals(42, reader.readInt());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        reader.endDocument();
+    }
+
+    @Test
+    void missingCommaThrows() {
+        var reader = new JsonReader("[1 2]");
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        reader.readInt();
+        assertThrows(JsonException.class, reader::hasNext);
+    }
+
+    @Test
+    void typeMismatchThrows() {
+        var reader = new JsonReader("[42]");
+        reader.beginArray();
+        assertTrue(reader.hasNext());
+        assertThrows(JsonException.class, reader::readString);
+    }
+
+    @Test
+    void trailingContentThrows() {
+        var reader = new JsonReader("{} {}");
+        reader.skipValue();
+        assertThrows(JsonException.class, reader::endDocument);
+    }
+
+    private static void assertParsesLikeJdk(String number) {
+        byte[] bytes = number.getBytes(StandardCharsets.UTF_8);
+        long expectedDouble = Double.doubleToRawLongBits(Double.parseDouble(number));
+        int expectedFloat = Float.floatToRawIntBits(Float.parseFloat(number));
+        assertEquals(expectedDouble, Double.doubleToRawLongBits(new JsonReader(number).readDouble()), number);
+        assertEquals(expectedDouble, Double.doubleToRawLongBits(new JsonReader(bytes, 0, bytes.length).readDouble()), number);
+        assertEquals(expectedFloat, Float.floatToRawIntBits(new JsonReader(number).readFloat()), number);
+        assertEquals(expectedFloat, Float.floatToRawIntBits(new JsonReader(bytes, 0, bytes.length).readFloat()), number);
+    }
+
+    @Test
+    void readFloatingPointInPlace() {
+        for (String n : List.of("0", "-0", "0.0", "1", "-1.5", "3.14", "0.1", "0.30000000000000004", "1e23",
+                "2.2250738585072011e-308", "2.2250738585072014e-308", "4.9e-324", "2.4e-324", "2e-324",
+                "1.7976931348623157e308", "1.7976931348623159e308", "1e309", "-1e-400", "9007199254740993",
+                "123456789012345678901234567890", "0.000000000000000000000000000001234", "1.00000005960464477539062499",
+                "3.4028235e38", "3.4028236e38", "1.4e-45", "7.006492321624085e-46", "16777217", "8.589973e9",
+                "1E+2", "1e-2", "99999999999999999999e-20")) {
+            assertParsesLikeJdk(n);
+        }
+        var random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isFinite(d)) {
+                assertParsesLikeJdk(Double.toString(d));
+            }
+            float f = Float.intBitsToFloat(random.nextInt());
+            if (Float.isFinite(f)) {
+                assertParsesLikeJdk(Float.toString(f));
+            }
+            assertParsesLikeJdk(random.nextInt(1_000_000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(80) - 40));
+        }
+    }
+
+    @Test
+    void readIntegersInPlace() {
+        assertEquals(Long.MAX_VALUE, new JsonReader("9223372036854775807").readLong());
+        assertEquals(Long.MIN_VALUE, new JsonReader("-9223372036854775808").readLong());
+        assertEquals(Integer.MIN_VALUE, new JsonReader("-2147483648").readInt());
+        assertEquals(0, new JsonReader("-0").readInt());
+        assertThrows(JsonException.class, () -> new JsonReader("9223372036854775808").readLong());
+        assertThrows(JsonException.class, () -> new JsonReader("-9223372036854775809").readLong());
+        assertThrows(JsonException.class, () -> new JsonReader("10000000000000000000").readLong());
+        assertThrows(JsonException.class, () -> new JsonReader("2147483648").readInt());
+        assertThrows(JsonException.class, () -> new JsonReader("1.0").readInt());
+        assertThrows(JsonException.class, () -> new JsonReader("1e2").readLong());
+    }
+
+    private static List<JsonValue.JsonObject> objects(JsonValue value) {
+        var result = new ArrayList<JsonValue.JsonObject>();
+        for (JsonValue element : ((JsonValue.JsonArray) value).elements()) {
+            result.add((JsonValue.JsonObject) element);
+        }
+        return result;
+    }
+
+    @Test
+    void parserSharesRepeatedKeysAndShortValues() {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < 2_000; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"status\":\"ACTIVE\",\"k")
+                    .append(i).append("\":\"").append("long value ".repeat(4)).append("\"}");
+        }
+        String json = sb.append("]").toString();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        var segment = new JsonReader(JsonTokenizer.of(MemorySegment.ofArray(bytes)));
+        for (JsonValue parsed : List.of(Json.parse(json), new JsonParser(new JsonReader(bytes, 0, bytes.length), true).parseValue(),
+                new JsonParser(segment, true).parseValue())) {
+            List<JsonValue.JsonObject> objects = objects(parsed);
+            var first = objects.get(10).members();
+            var last = objects.getLast().members();
+            assertSame(first.keySet().iterator().next(), last.keySet().iterator().next());
+            assertSame(((JsonValue.JsonString) first.get("status")).value(), ((JsonValue.JsonString) last.get("status")).value());
+            assertNotSame(((JsonValue.JsonString) first.get("k10")).value(), ((JsonValue.JsonString) last.get("k1999")).value());
+            for (int i = 0; i < objects.size(); i++) {
+                assertTrue(objects.get(i).members().containsKey("k" + i));
+            }
+        }
+        List<JsonValue.JsonObject> uncached = objects(new JsonParser(new JsonReader(bytes, 0, bytes.length)).parseValue());
+        assertNotSame(uncached.get(10).members().keySet().iterator().next(),
+                uncached.getLast().members().keySet().iterator().next());
+    }
+}
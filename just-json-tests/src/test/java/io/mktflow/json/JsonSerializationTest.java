@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -106,4 +107,13 @@ class JsonSerializationTest {
         assertTrue(json.contains("\"address\":null"));
         assertTrue(json.contains("\"otherAddresses\":null"));
     }
+
+    @Test
+    void serializeNestedListIntoSingleBuffer() {
+        var a1 = new Address("s1", "c1", "z1");
+        var nested = new Nested("n", a1, Arrays.asList(a1, null));
+        assertEquals("""
+                {"label":"n","address":{"street":"s1","city":"c1","zipCode":"z1"},\
+                "otherAddresses":[{"street":"s1","city":"c1","zipCode":"z1"},null]}""", Json.toJson(nested));
+    }
 }
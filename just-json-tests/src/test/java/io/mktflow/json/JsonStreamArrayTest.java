@@ -0,0 +1,142 @@
+package io.mktflow.json;
+
+import io.mktflow.json.records.Person;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamArrayTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static List<Person> people(int count) {
+        var people = new ArrayList<Person>();
+        for (int i = 0; i < count; i++) {
+            people.add(new Person("p" + i + " \"]}\\, é", i, List.of("t" + i, "[")));
+        }
+        return people;
+    }
+
+    private static String toJsonArray(List<Person> people) {
+        var sb = new StringBuilder(" [\n");
+        for (int i = 0; i < people.size(); i++) {
+            sb.append(i > 0 ? " ,\n  " : "  ").append(Json.toJson(people.get(i)));
+        }
+        return sb.append("\n] \n").toString();
+    }
+
+    /** Returns at most a few bytes per read, so elements straddle many refills. */
+    private static InputStream trickle(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            private int calls;
+
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + calls++ % 7));
+            }
+        };
+    }
+
+    @Test
+    void streamsElementsFromAllSources(@TempDir Path dir) throws IOException {
+        List<Person> expected = people(500);
+        byte[] bytes = toJsonArray(expected).getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(dir.resolve("people.json"), bytes);
+
+        try (Stream<Person> stream = Json.streamArray(trickle(bytes), Person.class)) {
+            assertEquals(expected, stream.toList());
+        }
+        try (Stream<Person> stream = Json.streamArray(file, Person.class)) {
+            assertEquals(expected, stream.toList());
+        }
+        assertEquals(expected, Json.streamArray(bytes, Person.class).toList());
+        assertEquals(List.of(), Json.streamArray(" [ ] ".getBytes(StandardCharsets.UTF_8), Person.class).toList());
+        assertEquals(Arrays.asList(null, expected.getFirst()),
+                Json.streamArray(("[null," + Json.toJson(expected.getFirst()) + "]").getBytes(StandardCharsets.UTF_8), Person.class).toList());
+    }
+
+    @Test
+    void elementsLargerThanTheReadBufferAreFramed() {
+        var big = new Person("x".repeat(300_000), 1, List.of("y".repeat(100_000)));
+        String json = "[" + Json.toJson(big) + "," + Json.toJson(people(1).getFirst()) + "]";
+        try (var people = Json.iterateArray(trickle(json.getBytes(StandardCharsets.UTF_8)), Person.class)) {
+            assertEquals(big, people.next());
+            assertEquals(people(1).getFirst(), people.next());
+            assertFalse(people.hasNext());
+        }
+    }
+
+    @Test
+    void closingTheIteratorClosesTheInput() {
+        var closed = new boolean[1];
+        InputStream in = new ByteArrayInputStream("[{\"name\":\"a\",\"age\":1,\"tags\":[]}]".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        try (Stream<Person> stream = Json.streamArray(in, Person.class)) {
+            assertEquals(1, stream.count());
+        }
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void malformedArraysAreRejected() {
+        String person = "{\"name\":\"a\",\"age\":1,\"tags\":[]}";
+        for (String json : List.of("{}", "[" + person, "[" + person + ",]", "[" + person + " " + person + "]",
+                "[" + person + "] x", "[{\"name\":\"a\"]", "[{\"name\":\"a\",\"age\":1,\"tags\":[]} }]")) {
+            assertThrows(JsonException.class,
+                    () -> Json.streamArray(trickle(json.getBytes(StandardCharsets.UTF_8)), Person.class).toList(), json);
+            assertThrows(JsonException.class,
+                    () -> Json.streamArray(json.getBytes(StandardCharsets.UTF_8), Person.class).toList(), json);
+        }
+    }
+
+    @Test
+    void decodingErrorsReportTheElementPosition() {
+        String person = "{\"name\":\"a\",\"age\":1,\"tags\":[]}";
+        String json = "[" + (person + ",").repeat(5_000) + "{\"name\":\"a\",\"age\":\"x\",\"tags\":[]}]";
+        var e = assertThrows(JsonException.class,
+                () -> Json.streamArray(trickle(json.getBytes(StandardCharsets.UTF_8)), Person.class).toList());
+        assertTrue(e.getMessage().contains("position " + (5_000 * (person.length() + 1) + 1)), e.getMessage());
+    }
+
+    @Test
+    void parallelDecodingPreservesOrder() {
+        List<Person> expected = people(20_000);
+        byte[] bytes = toJsonArray(expected).getBytes(StandardCharsets.UTF_8);
+        for (int parallelism : new int[] {1, 3, 8}) {
+            assertEquals(expected, Json.fromJsonArrayParallel(bytes, Person.class, parallelism));
+        }
+        assertEquals(List.of(), Json.fromJsonArrayParallel("[]".getBytes(StandardCharsets.UTF_8), Person.class, 4));
+        assertEquals(Arrays.asList(expected.getFirst(), null), Json.fromJsonArrayParallel(
+                ("[" + Json.toJson(expected.getFirst()) + ", null]").getBytes(StandardCharsets.UTF_8), Person.class, 2));
+    }
+
+    @Test
+    void parallelDecodingReportsTheFailingElement() {
+        String person = "{\"name\":\"a\",\"age\":1,\"tags\":[]}";
+        String json = "[" + person + "," + person + ",{\"name\":\"a\",\"age\":\"x\",\"tags\":[]}]";
+        var e = assertThrows(JsonException.class,
+                () -> Json.fromJsonArrayParallel(json.getBytes(StandardCharsets.UTF_8), Person.class, 4));
+        assertTrue(e.getMessage().contains("position " + (2 * person.length() + 3)), e.getMessage());
+        assertThrows(JsonException.class, () -> Json.fromJsonArrayParallel("[1,".getBytes(StandardCharsets.UTF_8), Person.class, 4));
+    }
+}
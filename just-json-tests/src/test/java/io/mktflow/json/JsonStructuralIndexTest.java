@@ -0,0 +1,97 @@
+package io.mktflow.json;
+
+import io.mktflow.json.internal.JsonParser;
+import io.mktflow.json.internal.JsonReader;
+import io.mktflow.json.internal.JsonTokenizer;
+import io.mktflow.json.internal.StructuralIndex;
+import io.mktflow.json.records.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStructuralIndexTest {
+
+    @BeforeAll
+    static void init() {
+        TestInit.ensureInitialized();
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sample() {
+        var sb = new StringBuilder("[\n");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                sb.append(",\n");
+            }
+            sb.append("  {\n    \"name\" : \"p").append(i).append(" \\\"quoted\\\" \\\\ é ☃\",\n")
+                    .append("    \"age\" :\t").append(i * 37).append(" ,\n")
+                    .append("    \"tags\" : [ \"a,b\", \"{not: structural}\", \"").append("x".repeat(i)).append("\\\\\" ]\n  }");
+        }
+        return sb.append("\n]\n").toString();
+    }
+
+    @Test
+    void vectorIndexMatchesScalarIndex() {
+        assertTrue(StructuralIndex.vectorAvailable(), "tests run with --add-modules jdk.incubator.vector");
+        List<String> docs = List.of(
+                sample(),
+                "{\"a\":1}",
+                "   ",
+                " [ true , false , null , -1.5e3 ] ",
+                "\"" + "\\\\".repeat(40) + "\"",
+                "\"" + "y".repeat(62) + "\\\"" + "z".repeat(70) + "\"");
+        for (String doc : docs) {
+            byte[] bytes = utf8(doc);
+            assertArrayEquals(StructuralIndex.scalar(bytes, 0, bytes.length),
+                    StructuralIndex.build(bytes, 0, bytes.length), doc);
+        }
+    }
+
+    @Test
+    void escapeStateCarriesAcrossBlocks() {
+        for (int shift = 0; shift < 70; shift++) {
+            String doc = " ".repeat(shift) + "[\"" + "q".repeat(shift) + "\\\\\",\"\\\"\" , 7 ]";
+            byte[] bytes = utf8(doc);
+            assertArrayEquals(StructuralIndex.scalar(bytes, 0, bytes.length),
+                    StructuralIndex.build(bytes, 0, bytes.length), doc);
+        }
+    }
+
+    @Test
+    void indexedTokenizerParsesLikeScalar() {
+        String doc = sample();
+        byte[] bytes = utf8(doc);
+        var indexed = new JsonParser(new JsonReader(JsonTokenizer.indexed(bytes, 0, bytes.length))).parseValue();
+        assertEquals(Json.parse(doc), indexed);
+    }
+
+    @Test
+    void indexedTokenizerBindsRecords() {
+        var people = new ArrayList<Person>();
+        for (int i = 0; i < 20; i++) {
+            people.add(new Person("n " + i, i, List.of("t", "u v")));
+        }
+        for (Person p : people) {
+            String pretty = Json.toJson(p).replace(",", " ,\n  ").replace(":", " : ");
+            byte[] bytes = utf8(pretty);
+            var reader = new JsonReader(JsonTokenizer.indexed(bytes, 0, bytes.length));
+            assertEquals(p, PersonJsonAdapter.fromJson(reader));
+            reader.endDocument();
+        }
+    }
+
+    @Test
+    void indexedTokenizerReportsErrors() {
+        byte[] bytes = utf8("{ \"name\" : \"a\" ,  x }");
+        var reader = new JsonReader(JsonTokenizer.indexed(bytes, 0, bytes.length));
+        assertThrows(JsonException.class, () -> PersonJsonAdapter.fromJson(reader));
+    }
+}
@@ -0,0 +1,12 @@
+package io.mktflow.json.records;
+
+import io.mktflow.json.JsonProperty;
+import io.mktflow.json.JsonRecord;
+
+@JsonRecord
+public record EscapedKeys(
+        @JsonProperty("say \"hi\"") String quoted,
+        @JsonProperty("back\\slash") int backslash,
+        @JsonProperty("café") String accented,
+        @JsonProperty("line\nbreak") boolean multiline
+) {}
@@ -0,0 +1,6 @@
+package io.mktflow.json.records;
+
+import io.mktflow.json.JsonProjection;
+
+@JsonProjection(of = Order.class)
+public record OrderSummary(String id, Status status) {}
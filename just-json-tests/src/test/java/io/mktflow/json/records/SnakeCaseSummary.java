@@ -0,0 +1,6 @@
+package io.mktflow.json.records;
+
+import io.mktflow.json.JsonProjection;
+
+@JsonProjection(of = SnakeCaseRecord.class)
+public record SnakeCaseSummary(String firstName, boolean isActive) {}